@@ -0,0 +1,80 @@
+package com.personal.task.project.benchmarks;
+
+import com.personal.task.project.ProjectApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The application context, without a web server, on a private copy of a
+ * {@link SeededDatabase} fixture. Background work (scheduled sync, the sync
+ * trigger, pulling, compaction) is off so only the benchmarked call touches
+ * the database. Close it in the trial's teardown; the copy is deleted.
+ */
+final class BenchmarkApp implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final Path database;
+
+    private BenchmarkApp(ConfigurableApplicationContext context, Path database) {
+        this.context = context;
+        this.database = database;
+    }
+
+    /**
+     * @param profile "default" or an application profile such as "sqlite-perf"
+     */
+    static BenchmarkApp start(int tasks, String profile, Map<String, Object> properties) {
+        try {
+            Path fixture = SeededDatabase.fixture(tasks);
+            Path copy = Files.createTempFile(SeededDatabase.FIXTURES, "trial-", ".db");
+            Files.copy(fixture, copy, StandardCopyOption.REPLACE_EXISTING);
+            return new BenchmarkApp(boot(copy, profile, properties), copy);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static ConfigurableApplicationContext boot(Path database, String profile, Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", "jdbc:sqlite:" + database);
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "warn");
+        properties.put("app.sync.initial-delay-ms", "3600000");
+        properties.put("app.sync.trigger.enabled", "false");
+        properties.put("app.sync.pull.enabled", "false");
+        properties.put("app.compaction.enabled", "false");
+        properties.putAll(overrides);
+
+        // As command-line arguments: builder properties are defaults, which application.properties overrides
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ProjectApplication.class)
+                .web(WebApplicationType.NONE);
+        if (!"default".equals(profile)) {
+            builder.profiles(profile);
+        }
+        return builder.run(args);
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        for (String suffix : new String[] {"", "-wal", "-shm", "-journal"}) {
+            Files.deleteIfExists(Path.of(database + suffix));
+        }
+    }
+}
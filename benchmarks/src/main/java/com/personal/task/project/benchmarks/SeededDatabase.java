@@ -0,0 +1,171 @@
+package com.personal.task.project.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.personal.task.project.dto.ImportResult;
+import com.personal.task.project.dto.SyncOpRecord;
+import com.personal.task.project.dto.TaskRecord;
+import com.personal.task.project.dto.TransferRecord;
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.service.TaskPayloadCodec;
+import com.personal.task.project.service.TaskSnapshot;
+import com.personal.task.project.service.TaskTransferService;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Reproducible SQLite fixtures. A fixture of {@code tasks} tasks is generated
+ * once from a fixed seed into {@code target/fixtures} and loaded through the
+ * NDJSON import, so ids, text and timestamps are the same on every run and
+ * every machine. Benchmarks never write to it; {@link BenchmarkApp} works on
+ * a copy.
+ *
+ * Shape: every 20th task is a synced tombstone, every 3rd is completed, 1%
+ * (the newest) have an unpushed UPDATE and every 997th a dead-lettered one.
+ * Everything else is synced, with its CREATE (and DELETE) kept as SUCCESS
+ * history in the outbox.
+ */
+final class SeededDatabase {
+
+    static final long SEED = 42;
+
+    static final Path FIXTURES = Path.of("target", "fixtures");
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int VOCABULARY = 5_000;
+    private static final String[] SYLLABLES =
+            {"ka", "lo", "mi", "ne", "ru", "sa", "to", "vi", "zu", "pe", "da", "fo", "gi", "ho", "ju"};
+
+    private static final String[] WORDS = vocabulary();
+
+    private SeededDatabase() {
+    }
+
+    /**
+     * The fixture file for {@code tasks} tasks, generated on first use.
+     */
+    static synchronized Path fixture(int tasks) {
+        Path file = FIXTURES.resolve("tasks-" + tasks + "-seed-" + SEED + ".db");
+        if (Files.exists(file)) {
+            return file;
+        }
+        try {
+            Files.createDirectories(FIXTURES);
+            Path partial = FIXTURES.resolve(file.getFileName() + ".partial");
+            Files.deleteIfExists(partial);
+            generate(partial, tasks);
+            return Files.move(partial, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The {@code rank}-th most frequent word in the fixture text (0 is the most common).
+     */
+    static String word(int rank) {
+        return WORDS[rank];
+    }
+
+    private static void generate(Path file, int tasks) throws IOException {
+        System.out.printf("Generating fixture %s (%,d tasks)%n", file.getFileName(), tasks);
+        Path ndjson = Files.createTempFile(FIXTURES, "fixture-", ".ndjson");
+        try (ConfigurableApplicationContext context = BenchmarkApp.boot(file, "default",
+                Map.of("spring.jpa.hibernate.ddl-auto", "create"))) {
+            try (OutputStream out = Files.newOutputStream(ndjson)) {
+                write(out, tasks, context.getBean(ObjectMapper.class).writerFor(TransferRecord.class),
+                        context.getBean(TaskPayloadCodec.class));
+            }
+            try (InputStream in = Files.newInputStream(ndjson)) {
+                ImportResult result = context.getBean(TaskTransferService.class).importFrom(in);
+                System.out.printf("Loaded %,d tasks and %,d sync ops%n", result.tasks(), result.syncOps());
+            }
+        } finally {
+            Files.deleteIfExists(ndjson);
+        }
+    }
+
+    // Tasks first, then the outbox, as the import expects ids to be free
+    private static void write(OutputStream out, int tasks, ObjectWriter writer, TaskPayloadCodec codec) throws IOException {
+        Random random = new Random(SEED);
+        int unpushedFrom = tasks - tasks / 100;
+        for (int i = 1; i <= tasks; i++) {
+            writeLine(out, writer, task(i, random, unpushedFrom));
+        }
+
+        random = new Random(SEED);
+        long opId = 1;
+        for (int i = 1; i <= tasks; i++) {
+            TaskRecord task = task(i, random, unpushedFrom);
+            TaskSnapshot fields = new TaskSnapshot(task.title(), task.description(), task.completed(), task.deleted());
+            String payload = codec.encode(task.clientId(), fields, 0L, task.createdAt());
+
+            writeLine(out, writer, op(opId++, SyncOps.OperationType.CREATE, task, payload, SyncOps.Status.SUCCESS, null));
+            if (task.deleted()) {
+                writeLine(out, writer, op(opId++, SyncOps.OperationType.DELETE, task, payload, SyncOps.Status.SUCCESS, null));
+            } else if (task.syncStatus() == Task.SyncStatus.PENDING) {
+                writeLine(out, writer, op(opId++, SyncOps.OperationType.UPDATE, task, payload, SyncOps.Status.PENDING, null));
+            } else if (task.syncStatus() == Task.SyncStatus.ERROR) {
+                writeLine(out, writer, op(opId++, SyncOps.OperationType.UPDATE, task, payload, SyncOps.Status.FAILED,
+                        "HTTP 422: rejected by server"));
+            }
+        }
+    }
+
+    private static TaskRecord task(int i, Random random, int unpushedFrom) {
+        LocalDateTime createdAt = EPOCH.plusSeconds(i * 10L);
+        boolean deleted = i % 20 == 0;
+        Task.SyncStatus status = deleted ? Task.SyncStatus.SYNCED
+                : i > unpushedFrom ? Task.SyncStatus.PENDING
+                : i % 997 == 0 ? Task.SyncStatus.ERROR
+                : Task.SyncStatus.SYNCED;
+        return new TaskRecord((long) i, new UUID(SEED, i), 0L, sentence(random, 3 + random.nextInt(3)),
+                sentence(random, 10 + random.nextInt(20)), i % 3 == 0, createdAt, createdAt, deleted, status,
+                "srv-" + i, createdAt, null);
+    }
+
+    private static SyncOpRecord op(long id, SyncOps.OperationType type, TaskRecord task, String payload,
+                                   SyncOps.Status status, String lastError) {
+        return new SyncOpRecord(id, type, task.id(), payload, TaskPayloadCodec.FORMAT_VERSION, status, 0L,
+                lastError == null ? 0 : 10, null, lastError, task.createdAt());
+    }
+
+    private static void writeLine(OutputStream out, ObjectWriter writer, TransferRecord record) throws IOException {
+        out.write(writer.writeValueAsBytes(record));
+        out.write('\n');
+    }
+
+    // Words drawn log-uniformly, so low ranks are common and high ranks rare
+    private static String sentence(Random random, int length) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            int rank = (int) Math.pow(VOCABULARY, random.nextDouble()) - 1;
+            sentence.append(i == 0 ? "" : " ").append(WORDS[rank]);
+        }
+        return sentence.toString();
+    }
+
+    private static String[] vocabulary() {
+        Random random = new Random(SEED);
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int s = 0; s < 4; s++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+}
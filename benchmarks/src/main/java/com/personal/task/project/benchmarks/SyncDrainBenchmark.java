@@ -0,0 +1,107 @@
+package com.personal.task.project.benchmarks;
+
+import com.personal.task.project.dto.TaskBatchOp;
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.repository.SyncRepo;
+import com.personal.task.project.service.SyncService;
+import com.personal.task.project.service.TaskService;
+import com.personal.task.project.support.StubSyncServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox drain rate: one {@link SyncService#syncWithServer} run pushing
+ * {@value #OPS} freshly queued CREATEs to an in-process stub server that
+ * answers after {@code latencyMillis}, per-op and bulk. The score is time per
+ * op; its inverse is the drain rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@OperationsPerInvocation(SyncDrainBenchmark.OPS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SyncDrainBenchmark {
+
+    static final int OPS = 500;
+
+    @Param({"0", "5", "50"})
+    public long latencyMillis;
+
+    @Param({"per-op", "bulk"})
+    public String mode;
+
+    @Param({"10000"})
+    public int tasks;
+
+    private StubSyncServer server;
+    private BenchmarkApp app;
+    private TaskService taskService;
+    private SyncService syncService;
+    private SyncRepo syncRepo;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        server = StubSyncServer.start(latencyMillis);
+        app = BenchmarkApp.start(tasks, "default", Map.of(
+                "app.sync.server-url", server.baseUrl(),
+                "app.sync.mode", mode));
+        taskService = app.bean(TaskService.class);
+        syncService = app.bean(SyncService.class);
+        syncRepo = app.bean(SyncRepo.class);
+
+        // The fixture's own pending ops would otherwise land in the first measured run
+        syncService.syncWithServer();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        app.close();
+        server.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void queueOps() {
+        List<TaskBatchOp> ops = new ArrayList<>(OPS);
+        for (int i = 0; i < OPS; i++) {
+            Task task = new Task();
+            task.setTitle("drain " + i);
+            ops.add(new TaskBatchOp(TaskBatchOp.Type.CREATE, null, null, task));
+        }
+        taskService.applyBatch(ops);
+    }
+
+    @Benchmark
+    public void drain() {
+        syncService.syncWithServer();
+    }
+
+    // A run that left ops behind measured less than it claims
+    @TearDown(Level.Invocation)
+    public void checkDrained() {
+        long pending = syncRepo.countByStatus(SyncOps.Status.PENDING);
+        if (pending > 0) {
+            throw new IllegalStateException(pending + " ops still pending after the sync run");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.personal.task.project.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.service.TaskPayloadCodec;
+import com.personal.task.project.service.TaskSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of the outbox payload ({@code SyncOps.taskData}): the
+ * full Jackson Task dump that used to be stored versus
+ * {@link TaskPayloadCodec}. Payload sizes are printed before the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskPayloadBenchmark {
+
+    private ObjectMapper mapper;
+    private TaskPayloadCodec codec;
+    private Task task;
+    private String json;
+    private String compact;
+
+    @Setup
+    public void setUp() throws Exception {
+        mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        codec = new TaskPayloadCodec(mapper);
+        task = task();
+        json = mapper.writeValueAsString(task);
+        compact = codec.encode(task);
+        System.out.printf("%nPayload size: full Task JSON %d bytes, compact %d bytes%n",
+                json.getBytes(StandardCharsets.UTF_8).length, compact.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Benchmark
+    public String encodeJson() throws Exception {
+        return mapper.writeValueAsString(task);
+    }
+
+    @Benchmark
+    public String encodeCompact() {
+        return codec.encode(task);
+    }
+
+    // What syncCreate/syncUpdate used to do before sending: parse the stored dump back into a Task
+    @Benchmark
+    public Task decodeJson() throws Exception {
+        return mapper.readValue(json, Task.class);
+    }
+
+    @Benchmark
+    public TaskSnapshot decodeCompact() {
+        return codec.decode(compact);
+    }
+
+    // The same task as TaskPayloadCodecTest uses; id, version and timestamps have no setters
+    private static Task task() {
+        Task task = new Task();
+        task.setTitle("write report");
+        task.setDescription("quarterly numbers");
+        task.setServerId("42");
+        task.setLastSyncedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        set(task, "id", 7L);
+        set(task, "version", 4L);
+        set(task, "createdAt", LocalDateTime.of(2024, 1, 1, 8, 0));
+        set(task, "updatedAt", LocalDateTime.of(2024, 1, 1, 9, 30));
+        return task;
+    }
+
+    private static void set(Task task, String name, Object value) {
+        Field field = ReflectionUtils.findField(Task.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, task, value);
+    }
+}
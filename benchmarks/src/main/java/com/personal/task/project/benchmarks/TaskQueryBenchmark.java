@@ -0,0 +1,125 @@
+package com.personal.task.project.benchmarks;
+
+import com.personal.task.project.dto.ChangeFeedPage;
+import com.personal.task.project.dto.SyncStatus;
+import com.personal.task.project.dto.TaskFilter;
+import com.personal.task.project.dto.TaskPage;
+import com.personal.task.project.dto.TaskSummary;
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.repository.SyncRepo;
+import com.personal.task.project.service.SyncService;
+import com.personal.task.project.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths at scale, on fixtures of 100k and 1M tasks: list pages (first,
+ * deep, filtered, summary), the change feed, full-text search, the due-ops
+ * page a sync run starts from and the counts behind GET /api/sync/status.
+ * Nothing here writes, so a trial's fixture copy stays as seeded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskQueryBenchmark {
+
+    private static final TaskFilter NO_FILTER = new TaskFilter(null, null, null);
+    private static final TaskFilter COMPLETED = new TaskFilter(true, null, null);
+
+    @Param({"100000", "1000000"})
+    public int tasks;
+
+    private BenchmarkApp app;
+    private TaskService taskService;
+    private SyncService syncService;
+    private SyncRepo syncRepo;
+    private String commonWord;
+    private String rareWord;
+
+    @Setup(Level.Trial)
+    public void start() {
+        app = BenchmarkApp.start(tasks, "default", Map.of());
+        taskService = app.bean(TaskService.class);
+        syncService = app.bean(SyncService.class);
+        syncRepo = app.bean(SyncRepo.class);
+        commonWord = SeededDatabase.word(0);
+        rareWord = SeededDatabase.word(4_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        app.close();
+    }
+
+    @Benchmark
+    public TaskPage<Task> firstPage() {
+        return taskService.getTaskPage(null, 100, NO_FILTER);
+    }
+
+    @Benchmark
+    public TaskPage<Task> deepPage() {
+        return taskService.getTaskPage((long) tasks * 9 / 10, 100, NO_FILTER);
+    }
+
+    @Benchmark
+    public TaskPage<Task> filteredPage() {
+        return taskService.getTaskPage((long) tasks / 2, 100, COMPLETED);
+    }
+
+    @Benchmark
+    public TaskPage<TaskSummary> summaryPage() {
+        return taskService.getTaskSummaries((long) tasks / 2, 100, NO_FILTER);
+    }
+
+    @Benchmark
+    public ChangeFeedPage changeFeedPage() {
+        return taskService.getChanges(tasks / 2, Long.MAX_VALUE, 200);
+    }
+
+    @Benchmark
+    public TaskPage<Task> searchCommonWord() {
+        return taskService.searchTasks(commonWord, null, 20);
+    }
+
+    @Benchmark
+    public TaskPage<Task> searchRareWord() {
+        return taskService.searchTasks(rareWord, null, 20);
+    }
+
+    @Benchmark
+    public TaskPage<Task> searchPrefix() {
+        return taskService.searchTasks(commonWord.substring(0, 3), null, 20);
+    }
+
+    @Benchmark
+    public List<SyncOps> dueOpsPage() {
+        return syncRepo.findDue(SyncOps.Status.PENDING, LocalDateTime.now(), PageRequest.of(0, 50));
+    }
+
+    @Benchmark
+    public SyncStatus syncStatus() {
+        return syncService.getSyncStatus();
+    }
+}
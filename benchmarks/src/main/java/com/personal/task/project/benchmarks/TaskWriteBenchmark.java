@@ -0,0 +1,112 @@
+package com.personal.task.project.benchmarks;
+
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.service.TaskService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local write throughput: {@link TaskService#saveTask} (the task row, its
+ * CREATE op in the outbox and the change-feed and search triggers, in one
+ * transaction) and {@link TaskService#updateTask}, alone and with writers
+ * contending. The sqlite-perf profile adds WAL and group commit. Under the
+ * default profile contending writers get SQLITE_BUSY; those saves are counted
+ * as {@code busy} next to the {@code saved} ones rather than ending the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskWriteBenchmark {
+
+    @Param({"default", "sqlite-perf"})
+    public String profile;
+
+    @Param({"100000"})
+    public int tasks;
+
+    private BenchmarkApp app;
+    private TaskService taskService;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void start() {
+        app = BenchmarkApp.start(tasks, profile, Map.of());
+        taskService = app.bean(TaskService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        app.close();
+    }
+
+    @Benchmark
+    public Task saveTask() {
+        return taskService.saveTask(newTask());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Task saveTaskContended(Outcomes outcomes) {
+        try {
+            Task saved = taskService.saveTask(newTask());
+            outcomes.saved++;
+            return saved;
+        } catch (CannotAcquireLockException e) {
+            outcomes.busy++;
+            return null;
+        }
+    }
+
+    // Walks the fixture's live tasks; every 20th id is a tombstone and is skipped
+    @Benchmark
+    public Task updateTask() {
+        long id;
+        do {
+            id = sequence.incrementAndGet() % tasks + 1;
+        } while (id % 20 == 0);
+        return taskService.updateTask(id, newTask());
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+
+        public long saved;
+        public long busy;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            saved = 0;
+            busy = 0;
+        }
+    }
+
+    private Task newTask() {
+        Task task = new Task();
+        task.setTitle("benchmark task " + sequence.incrementAndGet());
+        task.setDescription("written by TaskWriteBenchmark");
+        return task;
+    }
+}
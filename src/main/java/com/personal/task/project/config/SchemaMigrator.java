@@ -0,0 +1,164 @@
+package com.personal.task.project.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies versioned SQL scripts from {@code classpath:db/migration}, named
+ * {@code V<version>__<description>.sql}, in version order. Each script runs in
+ * its own transaction and is recorded in {@code schema_version}.
+ *
+ * Hibernate's ddl-auto still owns tables and columns; migrations run after it
+ * and own everything JPA cannot declare for SQLite (composite and partial
+ * indexes, virtual tables, triggers). Statements are split on a trailing
+ * semicolon, except inside BEGIN ... END blocks.
+ *
+ * When ddl-auto recreates the tables (create, create-drop) the indexes and
+ * triggers went with them, so every script is applied again; scripts must
+ * therefore be idempotent.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SchemaMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    private static final String LOCATION = "classpath:db/migration/V*__*.sql";
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    private final DataSource dataSource;
+    private final boolean schemaRecreated;
+
+    public SchemaMigrator(DataSource dataSource) {
+        this(dataSource, "none");
+    }
+
+    @Autowired
+    public SchemaMigrator(DataSource dataSource, @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        this.dataSource = dataSource;
+        this.schemaRecreated = ddlAuto.startsWith("create");
+    }
+
+    @PostConstruct
+    public void migrate() {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS schema_version ("
+                        + "version INTEGER PRIMARY KEY, "
+                        + "description TEXT NOT NULL, "
+                        + "applied_at TEXT NOT NULL)");
+                if (schemaRecreated) {
+                    statement.execute("DELETE FROM schema_version");
+                }
+            }
+
+            int current = currentVersion(connection);
+            for (Migration migration : loadMigrations()) {
+                if (migration.version() > current) {
+                    apply(connection, migration);
+                }
+            }
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Schema migration failed", e);
+        }
+    }
+
+    private int currentVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : migration.statements()) {
+                statement.execute(sql);
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO schema_version (version, description, applied_at) VALUES (?, ?, datetime('now'))")) {
+                insert.setInt(1, migration.version());
+                insert.setString(2, migration.description());
+                insert.executeUpdate();
+            }
+            connection.commit();
+            log.info("Applied schema migration V{} ({})", migration.version(), migration.description());
+        } catch (SQLException e) {
+            connection.rollback();
+            throw new SQLException("Migration V" + migration.version() + " failed: " + e.getMessage(), e);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private List<Migration> loadMigrations() throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+            Matcher matcher = FILE_NAME.matcher(resource.getFilename());
+            if (!matcher.matches()) {
+                continue;
+            }
+            String script = resource.getContentAsString(StandardCharsets.UTF_8);
+            migrations.add(new Migration(Integer.parseInt(matcher.group(1)),
+                    matcher.group(2).replace('_', ' '), split(script)));
+        }
+        migrations.sort(Comparator.comparingInt(Migration::version));
+        return migrations;
+    }
+
+    static List<String> split(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int depth = 0;
+
+        for (String line : script.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            current.append(line).append('\n');
+
+            String upper = trimmed.toUpperCase();
+            if (upper.equals("BEGIN") || upper.endsWith(" BEGIN")) {
+                depth++;
+            } else if (depth > 0 && (upper.equals("END;") || upper.equals("END"))) {
+                depth--;
+            }
+
+            if (depth == 0 && trimmed.endsWith(";")) {
+                statements.add(current.toString().trim());
+                current.setLength(0);
+            }
+        }
+        if (!current.isEmpty()) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+
+    private record Migration(int version, String description, List<String> statements) {
+    }
+}
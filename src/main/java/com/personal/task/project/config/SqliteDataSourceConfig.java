@@ -0,0 +1,84 @@
+package com.personal.task.project.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * SQLite performance profile, enabled by {@code app.sqlite.tuning.enabled}
+ * (see application-sqlite-perf.properties).
+ *
+ * Every connection gets WAL journaling, synchronous=NORMAL and the configured
+ * page cache / mmap sizes. Writes go through a single-connection pool so
+ * SQLite never sees two writers at once, while read-only transactions are
+ * routed to a separate pool of read-only connections that WAL lets run
+ * alongside the writer.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sqlite.tuning.enabled", havingValue = "true")
+public class SqliteDataSourceConfig {
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${app.sqlite.journal-mode:WAL}")
+    private String journalMode;
+
+    @Value("${app.sqlite.synchronous:NORMAL}")
+    private String synchronous;
+
+    @Value("${app.sqlite.cache-size-kb:65536}")
+    private int cacheSizeKb;
+
+    @Value("${app.sqlite.mmap-size:268435456}")
+    private long mmapSize;
+
+    @Value("${app.sqlite.busy-timeout-ms:5000}")
+    private int busyTimeoutMs;
+
+    @Value("${app.sqlite.read-pool-size:4}")
+    private int readPoolSize;
+
+    @Bean
+    @Primary
+    public DataSource dataSource() {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                pool("sqlite-writer", false, 1));
+        // The proxy picks the target once the transaction's read-only flag is known
+        dataSource.setReadOnlyDataSource(pool("sqlite-reader", true, readPoolSize));
+        return dataSource;
+    }
+
+    private HikariDataSource pool(String name, boolean readOnly, int size) {
+        SQLiteConfig sqliteConfig = new SQLiteConfig();
+        sqliteConfig.setJournalMode(SQLiteConfig.JournalMode.valueOf(journalMode.toUpperCase()));
+        sqliteConfig.setSynchronous(SQLiteConfig.SynchronousMode.valueOf(synchronous.toUpperCase()));
+        // Negative cache_size is a size in KiB rather than a page count
+        sqliteConfig.setCacheSize(-cacheSizeKb);
+        sqliteConfig.setBusyTimeout(busyTimeoutMs);
+        sqliteConfig.setTempStore(SQLiteConfig.TempStore.MEMORY);
+        sqliteConfig.setReadOnly(readOnly);
+
+        SQLiteDataSource sqlite = new SQLiteDataSource(sqliteConfig);
+        sqlite.setUrl(url);
+
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName(name);
+        hikari.setDataSource(sqlite);
+        hikari.setMaximumPoolSize(size);
+        // Hikari resets the flag on every connection it hands out, and the driver refuses a change
+        hikari.setReadOnly(readOnly);
+        hikari.setMinimumIdle(1);
+        hikari.setConnectionInitSql("PRAGMA mmap_size=" + mmapSize);
+        return new HikariDataSource(hikari);
+    }
+}
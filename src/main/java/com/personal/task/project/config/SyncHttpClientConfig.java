@@ -0,0 +1,88 @@
+package com.personal.task.project.config;
+
+import com.personal.task.project.service.ServerCircuitBreaker;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * HTTP client for the sync server.
+ *
+ * Connections are pooled and kept alive, so a sync run reuses sockets
+ * instead of opening one per op. Every phase has a bound: taking a pooled
+ * connection, connecting, and waiting for response bytes, so a hung server
+ * costs one read timeout rather than a stuck scheduler thread. Idle and
+ * expired connections are evicted in the background.
+ *
+ * Every call goes through {@link ServerCircuitBreaker}.
+ */
+@Configuration
+public class SyncHttpClientConfig {
+
+    @Value("${app.sync.http.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${app.sync.http.read-timeout:10s}")
+    private Duration readTimeout;
+
+    @Value("${app.sync.http.pool-timeout:2s}")
+    private Duration poolTimeout;
+
+    // At least app.sync.max-in-flight, or dispatch threads queue for a connection
+    @Value("${app.sync.http.max-connections:32}")
+    private int maxConnections;
+
+    @Value("${app.sync.http.connection-ttl:5m}")
+    private Duration connectionTtl;
+
+    @Value("${app.sync.http.idle-timeout:30s}")
+    private Duration idleTimeout;
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient syncHttpClient() {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.of(readTimeout))
+                .setTimeToLive(TimeValue.of(connectionTtl))
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        // One server, so the per-route limit is the pool size
+                        .setMaxConnTotal(maxConnections)
+                        .setMaxConnPerRoute(maxConnections)
+                        .setDefaultConnectionConfig(connectionConfig)
+                        .build())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(poolTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                // Retries belong to the outbox's backoff; the default strategy would also re-send 429/503 POSTs
+                .disableAutomaticRetries()
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .build();
+    }
+
+    // Built from the auto-configured builder so calls are timed as http.client.requests
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient syncHttpClient,
+                                     ServerCircuitBreaker circuitBreaker) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(syncHttpClient))
+                .additionalInterceptors(circuitBreaker)
+                .build();
+    }
+}
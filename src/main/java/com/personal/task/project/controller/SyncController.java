@@ -1,12 +1,24 @@
 package com.personal.task.project.controller;
 
+import com.personal.task.project.dto.CompactionReport;
+import com.personal.task.project.dto.SyncStatus;
+import com.personal.task.project.entity.SyncConflict;
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.repository.SyncConflictRepository;
+import com.personal.task.project.service.StorageCompactor;
+import com.personal.task.project.service.SyncJob;
+import com.personal.task.project.service.SyncJobService;
 import com.personal.task.project.service.SyncService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/sync")
@@ -15,38 +27,66 @@ public class SyncController {
     @Autowired
     private SyncService syncService;
 
+    @Autowired
+    private SyncJobService syncJobService;
+
+    @Autowired
+    private SyncConflictRepository conflictRepository;
+
+    @Autowired
+    private StorageCompactor storageCompactor;
+
+    // Starts a sync in the background, or joins the one already running; poll the Location for progress
     @PostMapping("/trigger")
-    public ResponseEntity<Map<String, String>> triggerSync() {
-        Map<String, String> response = new HashMap<>();
-        
-        try {
-            syncService.syncWithServer();
-            response.put("status", "success");
-            response.put("message", "Sync process completed");
-            return ResponseEntity.ok(response);
-            
-        } catch (Exception e) {
-            response.put("status", "error");
-            response.put("message", "Sync failed: " + e.getMessage());
-            return ResponseEntity.internalServerError().body(response);
-        }
+    public ResponseEntity<SyncJob> triggerSync() {
+        SyncJob job = syncJobService.submit("manual");
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/sync/jobs/" + job.getId()))
+                .body(job);
     }
 
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<SyncJob> getJob(@PathVariable UUID id) {
+        return syncJobService.getJob(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Backlog and last-run numbers for alerting; the same figures are exported as sync.* meters
     @GetMapping("/status")
-    public ResponseEntity<Map<String, Object>> getSyncStatus() {
-        Map<String, Object> response = new HashMap<>();
-        
-        try {
-            String status = syncService.getSyncStatus();
-            response.put("status", "success");
-            response.put("syncStatus", status);
-            return ResponseEntity.ok(response);
-            
-        } catch (Exception e) {
-            response.put("status", "error");
-            response.put("message", "Failed to get sync status: " + e.getMessage());
-            return ResponseEntity.internalServerError().body(response);
-        }
+    public SyncStatus getSyncStatus() {
+        return syncService.getSyncStatus();
+    }
+
+    // Most recent resolved conflicts, newest first, for review
+    @GetMapping("/conflicts")
+    public List<SyncConflict> getConflicts(@RequestParam(defaultValue = "100") int limit) {
+        return conflictRepository.findAllByOrderByIdDesc(PageRequest.of(0, Math.max(1, Math.min(limit, 1000))));
+    }
+
+    // Ops that failed permanently or ran out of retries, newest first
+    @GetMapping("/dead-letters")
+    public List<SyncOps> getDeadLetters(@RequestParam(defaultValue = "100") int limit) {
+        return syncService.getDeadLetters(Math.max(1, Math.min(limit, 1000)));
+    }
+
+    // Body is a JSON array of op ids; without one every dead letter is re-queued
+    @PostMapping("/dead-letters/requeue")
+    public ResponseEntity<Map<String, Integer>> requeueDeadLetters(@RequestBody(required = false) List<Long> ids) {
+        return ResponseEntity.ok(Map.of("requeued", syncService.requeueDeadLetters(ids)));
+    }
+
+    // Runs storage compaction now and reports what it reclaimed
+    @PostMapping("/compaction")
+    public CompactionReport compact() {
+        return storageCompactor.compact();
+    }
+
+    @GetMapping("/compaction")
+    public ResponseEntity<CompactionReport> getLastCompaction() {
+        return storageCompactor.getLastReport()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.noContent().build());
     }
 
     @GetMapping("/health")
@@ -1,21 +1,61 @@
 package com.personal.task.project.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.personal.task.project.dto.ChangeFeedPage;
+import com.personal.task.project.dto.TaskBatchOp;
+import com.personal.task.project.dto.TaskBatchResult;
+import com.personal.task.project.dto.TaskChange;
+import com.personal.task.project.dto.TaskFilter;
+import com.personal.task.project.dto.TaskPage;
 import com.personal.task.project.entity.Task;
+import com.personal.task.project.service.ChangeFeedExpiredException;
 import com.personal.task.project.service.TaskService;
+import com.personal.task.project.service.TaskVersionMismatchException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter changeWriter;
+    private final ObjectReader batchOpReader;
+    private final ObjectWriter batchResultWriter;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, ObjectMapper objectMapper) {
         this.taskService = taskService;
+        this.objectMapper = objectMapper;
+        this.changeWriter = objectMapper.writerFor(TaskChange.class);
+        this.batchOpReader = objectMapper.readerFor(TaskBatchOp.class);
+        this.batchResultWriter = objectMapper.writerFor(TaskBatchResult.class);
     }
     
     @PostMapping
@@ -25,35 +65,220 @@ public class TaskController {
     }
 
 
+    /**
+     * Bulk create/update/delete: a JSON array of {@link TaskBatchOp}, applied in
+     * one transaction. The answer is always 200 with an array of per-op
+     * {@link TaskBatchResult}s in request order; only a malformed body (400),
+     * more than {@code app.api.batch.max-ops} ops (413) or a database failure
+     * fails the request as a whole.
+     *
+     * Both bodies are streamed: ops are bound one at a time from the parser
+     * rather than from a buffered body or tree, and results are written
+     * straight to the response.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> applyBatch(InputStream body) throws IOException {
+        List<TaskBatchOp> ops;
+        try {
+            ops = readBatch(body);
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (ops == null) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+
+        List<TaskBatchResult> results = taskService.applyBatch(ops);
+        StreamingResponseBody stream = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                for (TaskBatchResult result : results) {
+                    batchResultWriter.writeValue(generator, result);
+                }
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(stream);
+    }
+
+    // null when the batch is over the limit; reading stops there
+    private List<TaskBatchOp> readBatch(InputStream body) throws IOException {
+        List<TaskBatchOp> ops = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected a JSON array of batch ops");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                if (ops.size() == taskService.getMaxBatchOps()) {
+                    return null;
+                }
+                ops.add(batchOpReader.readValue(parser));
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new JsonParseException(parser, "Expected a batch op object");
+            }
+        }
+        return ops;
+    }
+
+    /**
+     * Cursor-paginated task list. The next page's cursor is returned in the
+     * X-Next-Cursor header; {@code view=summary} returns a lightweight projection.
+     */
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks() {
-        return ResponseEntity.ok(taskService.getAllTasks());
+    public ResponseEntity<List<?>> getAllTasks(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) Task.SyncStatus syncStatus,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request) {
+
+        // Read before the page: a write in between only costs the next poll a full body
+        if (request.checkNotModified(listETag(cursor, limit, completed, syncStatus, updatedSince, view))) {
+            return null;
+        }
+
+        TaskFilter filter = new TaskFilter(completed, syncStatus, updatedSince);
+        TaskPage<?> page = "summary".equalsIgnoreCase(view)
+                ? taskService.getTaskSummaries(cursor, limit, filter)
+                : taskService.getTaskPage(cursor, limit, filter);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (page.nextCursor() != null) {
+            response.header("X-Next-Cursor", page.nextCursor().toString());
+        }
+        return response.body(page.items());
+    }
+
+    // The tasks' change sequence plus the normalized query: the same page of the same data
+    private String listETag(Long cursor, Integer limit, Boolean completed, Task.SyncStatus syncStatus,
+                            LocalDateTime updatedSince, String view) {
+        String query = (cursor == null ? 0L : cursor) + "&" + taskService.getPageSize(limit) + "&" + completed
+                + "&" + syncStatus + "&" + updatedSince + "&" + ("summary".equalsIgnoreCase(view) ? "summary" : "full");
+        return "\"" + taskService.getChangeSeq() + "-"
+                + DigestUtils.md5DigestAsHex(query.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Full-text search over title and description, best match first; every
+     * term matches as a prefix. The next page's offset is returned in the
+     * X-Next-Cursor header.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<Task>> searchTasks(@RequestParam String q,
+                                                  @RequestParam(required = false) Long cursor,
+                                                  @RequestParam(required = false) Integer limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        TaskPage<Task> page = taskService.searchTasks(q, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header("X-Next-Cursor", page.nextCursor().toString());
+        }
+        return response.body(page.items());
+    }
+
+    /**
+     * Changes since a cursor returned by a previous call (0 for everything):
+     * upserts and tombstones, each task once at its latest change. A cursor
+     * older than purged tombstones gets 410 Gone; start over from 0.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ChangeFeedPage getChanges(@RequestParam(defaultValue = "0") long since,
+                                     @RequestParam(required = false) Integer limit) {
+        return taskService.getChanges(since, Long.MAX_VALUE, limit);
+    }
+
+    /**
+     * The same feed as NDJSON, streamed page by page up to the sequence current
+     * when the request arrived. Each page is read in its own short transaction,
+     * so a large range never pins one read snapshot for the whole response.
+     */
+    @GetMapping(value = "/changes", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamChanges(@RequestParam(defaultValue = "0") long since) {
+        long upTo = taskService.getLatestChangeSeq();
+        // Read before the response is committed, so an expired cursor still gets its 410
+        ChangeFeedPage first = taskService.getChanges(since, upTo, taskService.getMaxPageSize());
+        StreamingResponseBody body = out -> {
+            ChangeFeedPage page = first;
+            writeLines(out, page);
+            while (page.hasMore()) {
+                page = taskService.getChanges(page.cursor(), upTo, taskService.getMaxPageSize());
+                writeLines(out, page);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    @ExceptionHandler(ChangeFeedExpiredException.class)
+    public ResponseEntity<Map<String, Object>> changeFeedExpired(ChangeFeedExpiredException e) {
+        return ResponseEntity.status(HttpStatus.GONE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", e.getMessage(), "purgedThrough", e.getPurgedThrough()));
     }
 
+    private void writeLines(OutputStream out, ChangeFeedPage page) throws IOException {
+        for (TaskChange change : page.changes()) {
+            out.write(changeWriter.writeValueAsBytes(change));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    // The task's version is its ETag; send it back as If-Match to update or delete safely
     @GetMapping("/{id}")
     public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
         return taskService.getTaskById(id)
-                .map(ResponseEntity::ok)
+                .map(task -> ResponseEntity.ok().eTag(String.valueOf(task.getVersion())).body(task))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody Task task) {
-        Task updatedTask = taskService.updateTask(id, task);
-        if (updatedTask != null) {
-            return ResponseEntity.ok(updatedTask);
-        } else {
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody Task task,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Task updatedTask = taskService.updateTask(id, task, expectedVersion(ifMatch));
+            if (updatedTask != null) {
+                return ResponseEntity.ok().eTag(String.valueOf(updatedTask.getVersion())).body(updatedTask);
+            } else {
+                return ResponseEntity.notFound().build();
+            }
+        } catch (TaskVersionMismatchException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(String.valueOf(e.getCurrentVersion())).build();
         }
     }
 
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
-        if (taskService.deleteTask(id)) {
-            return ResponseEntity.noContent().build(); 
-        } else {
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<Void> deleteTask(@PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            if (taskService.deleteTask(id, expectedVersion(ifMatch))) {
+                return ResponseEntity.noContent().build(); 
+            } else {
+                return ResponseEntity.notFound().build();
+            }
+        } catch (TaskVersionMismatchException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(String.valueOf(e.getCurrentVersion())).build();
+        }
+    }
+
+    // Accepts "3", W/"3" or 3; "*" or no header means unconditional. Anything else can never match
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            return -1L;
         }
     }
 }
@@ -0,0 +1,46 @@
+package com.personal.task.project.controller;
+
+import com.personal.task.project.dto.ImportResult;
+import com.personal.task.project.service.TaskImportException;
+import com.personal.task.project.service.TaskTransferService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+
+/**
+ * Bulk NDJSON export and import for backups and seeding replicas; see
+ * {@link TaskTransferService}.
+ */
+@RestController
+@RequestMapping("/api/tasks")
+public class TaskTransferController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final TaskTransferService transferService;
+
+    public TaskTransferController(TaskTransferService transferService) {
+        this.transferService = transferService;
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "false") boolean tombstones,
+                                                        @RequestParam(defaultValue = "false") boolean outbox) {
+        StreamingResponseBody body = out -> transferService.export(out, tombstones, outbox);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = NDJSON)
+    public ResponseEntity<ImportResult> importTasks(InputStream body) {
+        try {
+            return ResponseEntity.ok(transferService.importFrom(body));
+        } catch (TaskImportException e) {
+            HttpStatus status = e.isMalformedInput() ? HttpStatus.BAD_REQUEST : HttpStatus.CONFLICT;
+            return ResponseEntity.status(status).body(e.getResult());
+        }
+    }
+}
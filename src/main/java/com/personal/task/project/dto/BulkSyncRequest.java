@@ -0,0 +1,75 @@
+package com.personal.task.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Body of {@code POST /tasks/bulk}. The server applies the ops in array
+ * order and, once an op for a task is rejected, rejects the remaining ops of
+ * that task in the same request.
+ */
+public class BulkSyncRequest {
+
+    private List<Op> ops = new ArrayList<>();
+
+    public List<Op> getOps() {
+        return ops;
+    }
+
+    public void setOps(List<Op> ops) {
+        this.ops = ops;
+    }
+
+    public static class Op {
+
+        private Long opId;
+        private String type;
+        private String clientId;
+        private String serverId;
+        private String task;
+
+        public Long getOpId() {
+            return opId;
+        }
+
+        public void setOpId(Long opId) {
+            this.opId = opId;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public String getClientId() {
+            return clientId;
+        }
+
+        public void setClientId(String clientId) {
+            this.clientId = clientId;
+        }
+
+        public String getServerId() {
+            return serverId;
+        }
+
+        public void setServerId(String serverId) {
+            this.serverId = serverId;
+        }
+
+        // Stored outbox snapshot, embedded as-is
+        @JsonRawValue
+        public String getTask() {
+            return task;
+        }
+
+        public void setTask(String task) {
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.personal.task.project.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-op results returned by {@code POST /tasks/bulk}, matched back to the
+ * outbox by {@code opId}.
+ */
+public class BulkSyncResponse {
+
+    private List<Result> results = new ArrayList<>();
+
+    public List<Result> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Result> results) {
+        this.results = results;
+    }
+
+    public static class Result {
+
+        private Long opId;
+        private boolean accepted;
+        private String serverId;
+        private LocalDateTime updatedAt;
+        private String error;
+
+        public Long getOpId() {
+            return opId;
+        }
+
+        public void setOpId(Long opId) {
+            this.opId = opId;
+        }
+
+        public boolean isAccepted() {
+            return accepted;
+        }
+
+        public void setAccepted(boolean accepted) {
+            this.accepted = accepted;
+        }
+
+        public String getServerId() {
+            return serverId;
+        }
+
+        public void setServerId(String serverId) {
+            this.serverId = serverId;
+        }
+
+        public LocalDateTime getUpdatedAt() {
+            return updatedAt;
+        }
+
+        public void setUpdatedAt(LocalDateTime updatedAt) {
+            this.updatedAt = updatedAt;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
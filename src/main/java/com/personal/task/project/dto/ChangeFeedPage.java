@@ -0,0 +1,10 @@
+package com.personal.task.project.dto;
+
+import java.util.List;
+
+/**
+ * A page of the change feed. {@code cursor} is the {@code since} value for
+ * the next request and stays put when nothing has changed.
+ */
+public record ChangeFeedPage(List<TaskChange> changes, long cursor, boolean hasMore) {
+}
@@ -0,0 +1,16 @@
+package com.personal.task.project.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * What one compaction run removed. {@code syncOps} counts outbox rows dropped
+ * by retention and with their purged tasks; {@code bytesReclaimed} is how much
+ * the database file shrank, and {@code fileBytes} its size afterwards.
+ */
+public record CompactionReport(LocalDateTime startedAt,
+                               long durationMillis,
+                               long syncOps,
+                               long tombstones,
+                               long bytesReclaimed,
+                               long fileBytes) {
+}
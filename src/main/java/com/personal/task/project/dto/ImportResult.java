@@ -0,0 +1,13 @@
+package com.personal.task.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Rows committed by {@code POST /api/tasks/import}. On failure the counts are
+ * what was committed before the failing chunk, and {@code error} says why.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportResult(long tasks,
+                           long syncOps,
+                           String error) {
+}
@@ -0,0 +1,30 @@
+package com.personal.task.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.personal.task.project.entity.SyncOps;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outbox row as exported and imported. Leases are local to the database
+ * they were taken in, so an IN_FLIGHT op travels as PENDING.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SyncOpRecord(Long id,
+                           SyncOps.OperationType operationType,
+                           Long taskId,
+                           String taskData,
+                           Integer payloadFormat,
+                           SyncOps.Status status,
+                           Long taskVersion,
+                           int retryCount,
+                           LocalDateTime nextAttemptAt,
+                           String lastError,
+                           LocalDateTime createdAt) implements TransferRecord {
+
+    public SyncOpRecord {
+        if (status == SyncOps.Status.IN_FLIGHT) {
+            status = SyncOps.Status.PENDING;
+        }
+    }
+}
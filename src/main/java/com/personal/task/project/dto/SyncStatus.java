@@ -0,0 +1,21 @@
+package com.personal.task.project.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox backlog and last-run figures for {@code GET /api/sync/status}.
+ * {@code inFlight} counts ops currently leased by a sync worker.
+ * {@code oldestPendingAt} is null when nothing is waiting, and the last-run
+ * fields are null/0 until the first run after startup. {@code circuitState}
+ * is the sync server circuit breaker's state.
+ */
+public record SyncStatus(long pending,
+                         long inFlight,
+                         long failed,
+                         long succeeded,
+                         long conflicts,
+                         LocalDateTime oldestPendingAt,
+                         LocalDateTime lastRunAt,
+                         long lastRunMillis,
+                         String circuitState) {
+}
@@ -0,0 +1,19 @@
+package com.personal.task.project.dto;
+
+import com.personal.task.project.entity.Task;
+
+/**
+ * One item of {@code POST /api/tasks/batch}. CREATE takes {@code task};
+ * UPDATE takes {@code id} and {@code task}; DELETE takes {@code id}.
+ * {@code version} is optional and works like If-Match on the single-task
+ * endpoints.
+ */
+public record TaskBatchOp(Type op,
+                          Long id,
+                          Long version,
+                          Task task) {
+
+    public enum Type {
+        CREATE, UPDATE, DELETE
+    }
+}
@@ -0,0 +1,25 @@
+package com.personal.task.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one batch item, in request order. {@code status} is what the
+ * single-task endpoint would have answered (201, 200, 204, 400, 404, 412);
+ * {@code version} is the task's version after the write, or its current
+ * version on a 412.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskBatchResult(int index,
+                              int status,
+                              Long id,
+                              Long version,
+                              String error) {
+
+    public static TaskBatchResult ok(int index, int status, Long id, Long version) {
+        return new TaskBatchResult(index, status, id, version, null);
+    }
+
+    public static TaskBatchResult error(int index, int status, Long id, Long version, String error) {
+        return new TaskBatchResult(index, status, id, version, error);
+    }
+}
@@ -0,0 +1,31 @@
+package com.personal.task.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.personal.task.project.entity.Task;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One entry of the task change feed. Deleted tasks are sent as tombstones
+ * without a body; {@code seq} is the cursor to resume from.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskChange(long seq,
+                         Type type,
+                         Long id,
+                         UUID clientId,
+                         LocalDateTime changedAt,
+                         Task task) {
+
+    public enum Type {
+        UPSERT, DELETE
+    }
+
+    public static TaskChange of(Task task) {
+        if (task.isDeleted()) {
+            return new TaskChange(task.getChangeSeq(), Type.DELETE, task.getId(), task.getClientId(), task.getUpdatedAt(), null);
+        }
+        return new TaskChange(task.getChangeSeq(), Type.UPSERT, task.getId(), task.getClientId(), task.getUpdatedAt(), task);
+    }
+}
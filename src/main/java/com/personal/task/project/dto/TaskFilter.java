@@ -0,0 +1,13 @@
+package com.personal.task.project.dto;
+
+import com.personal.task.project.entity.Task;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters for task listings; null fields are not applied.
+ */
+public record TaskFilter(Boolean completed,
+                         Task.SyncStatus syncStatus,
+                         LocalDateTime updatedSince) {
+}
@@ -0,0 +1,10 @@
+package com.personal.task.project.dto;
+
+import java.util.List;
+
+/**
+ * One page of a cursor-paginated listing. {@code nextCursor} is null on the
+ * last page.
+ */
+public record TaskPage<T>(List<T> items, Long nextCursor) {
+}
@@ -0,0 +1,27 @@
+package com.personal.task.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.personal.task.project.entity.Task;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A task row as exported and imported, with everything a replica needs
+ * (including the merge base) and nothing derived locally (change_seq).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskRecord(Long id,
+                         UUID clientId,
+                         Long version,
+                         String title,
+                         String description,
+                         boolean completed,
+                         LocalDateTime createdAt,
+                         LocalDateTime updatedAt,
+                         boolean deleted,
+                         Task.SyncStatus syncStatus,
+                         String serverId,
+                         LocalDateTime lastSyncedAt,
+                         String syncBase) implements TransferRecord {
+}
@@ -0,0 +1,17 @@
+package com.personal.task.project.dto;
+
+import com.personal.task.project.entity.Task;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lightweight projection of a task for list views ({@code ?view=summary}).
+ */
+public record TaskSummary(Long id,
+                          UUID clientId,
+                          String title,
+                          boolean completed,
+                          Task.SyncStatus syncStatus,
+                          LocalDateTime updatedAt) {
+}
@@ -0,0 +1,16 @@
+package com.personal.task.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * One line of the NDJSON export ({@code GET /api/tasks/export}) and import
+ * ({@code POST /api/tasks/import}), tagged by its {@code type} field.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = TaskRecord.class, name = "task"),
+        @JsonSubTypes.Type(value = SyncOpRecord.class, name = "syncOp")
+})
+public sealed interface TransferRecord permits TaskRecord, SyncOpRecord {
+}
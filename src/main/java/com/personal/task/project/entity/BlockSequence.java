@@ -0,0 +1,26 @@
+package com.personal.task.project.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Ids handed out in blocks from the {@code id_sequence} row named
+ * {@link #value()} (seeded by migration V4). Unlike IDENTITY, the id is known
+ * before the INSERT, so Hibernate can batch the inserts.
+ *
+ * @see BlockSequenceGenerator
+ */
+@IdGeneratorType(BlockSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface BlockSequence {
+
+    String value();
+
+    // Largest block one allocation reserves
+    int maxBlock() default 64;
+}
@@ -0,0 +1,96 @@
+package com.personal.task.project.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generator behind {@link BlockSequence}.
+ *
+ * Hibernate's own TABLE generator reserves ids on a second connection. On
+ * SQLite that connection queues behind the writer it is working for (the
+ * single-connection writer pool of the sqlite-perf profile, or the database
+ * write lock), so ids are reserved here on the session's own connection,
+ * inside its transaction. A rollback therefore returns the block too, and
+ * blocks never outlive the transaction that reserved them. Rolling back to a
+ * savepoint returns the blocks reserved since, so whoever does that must also
+ * {@link #discardBlocks discard} the session's blocks.
+ *
+ * The first id of a transaction reserves a block of one; each further
+ * allocation doubles, up to {@code maxBlock}. A single-row write wastes no
+ * ids, and a batch of thousands needs one UPDATE per {@code maxBlock} rows.
+ */
+public class BlockSequenceGenerator implements IdentifierGenerator {
+
+    private static final String RESERVE = "UPDATE id_sequence SET value = value + ? WHERE name = ? RETURNING value";
+
+    private final String name;
+    private final int maxBlock;
+
+    // Per session, per sequence name; shared by every generator so a savepoint rollback can drop them all
+    private static final Map<SharedSessionContractImplementor, Map<String, Block>> BLOCKS = new ConcurrentHashMap<>();
+
+    public BlockSequenceGenerator(BlockSequence config) {
+        this.name = config.value();
+        this.maxBlock = config.maxBlock();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner) {
+        Map<String, Block> blocks = BLOCKS.computeIfAbsent(session, key -> {
+            key.asEventSource().getActionQueue().registerProcess((success, completed) -> BLOCKS.remove(completed));
+            return new ConcurrentHashMap<>();
+        });
+        Block block = blocks.get(name);
+        if (block == null || block.next == block.end) {
+            int size = block == null ? 1 : Math.min(block.size * 2, maxBlock);
+            long end = reserve(session, size);
+            block = new Block(end - size, end, size);
+            blocks.put(name, block);
+        }
+        return block.next++;
+    }
+
+    /**
+     * Forgets the blocks {@code session} holds, for when its connection rolled
+     * back to a savepoint: the reservations made since are undone, and handing
+     * out the rest of their blocks would repeat ids the next reservation
+     * hands out again.
+     */
+    public static void discardBlocks(SharedSessionContractImplementor session) {
+        BLOCKS.remove(session);
+    }
+
+    // id_sequence.value is the next free id; the reserved block is [value - size, value)
+    private long reserve(SharedSessionContractImplementor session, int size) {
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(RESERVE)) {
+                statement.setInt(1, size);
+                statement.setString(2, name);
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new IllegalStateException("No id_sequence row '" + name + "'; is migration V4 applied?");
+                    }
+                    return rs.getLong(1);
+                }
+            }
+        });
+    }
+
+    private static final class Block {
+
+        private long next;
+        private final long end;
+        private final int size;
+
+        Block(long next, long end, int size) {
+            this.next = next;
+            this.end = end;
+            this.size = size;
+        }
+    }
+}
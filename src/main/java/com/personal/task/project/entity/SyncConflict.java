@@ -0,0 +1,92 @@
+package com.personal.task.project.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A field both sides changed, with all three versions and what the strategy
+ * picked, kept for review.
+ */
+@Entity
+@Table(name = "sync_conflicts")
+public class SyncConflict {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(nullable = false, length = 64)
+    private String field;
+
+    @Column(name = "base_value", length = 1000)
+    private String baseValue;
+
+    @Column(name = "local_value", length = 1000)
+    private String localValue;
+
+    @Column(name = "remote_value", length = 1000)
+    private String remoteValue;
+
+    @Column(name = "resolved_value", length = 1000)
+    private String resolvedValue;
+
+    @Column(nullable = false, length = 64)
+    private String strategy;
+
+    @Column(name = "detected_at", nullable = false)
+    private LocalDateTime detectedAt;
+
+    protected SyncConflict() {
+    }
+
+    public SyncConflict(Long taskId, String field, Object baseValue, Object localValue,
+                        Object remoteValue, Object resolvedValue, String strategy) {
+        this.taskId = taskId;
+        this.field = field;
+        this.baseValue = text(baseValue);
+        this.localValue = text(localValue);
+        this.remoteValue = text(remoteValue);
+        this.resolvedValue = text(resolvedValue);
+        this.strategy = strategy;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        detectedAt = LocalDateTime.now();
+    }
+
+    private static String text(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    public Long getId() {
+    	return id;
+    	}
+    public Long getTaskId() {
+    	return taskId;
+    	}
+    public String getField() {
+    	return field;
+    	}
+    public String getBaseValue() {
+    	return baseValue;
+    	}
+    public String getLocalValue() {
+    	return localValue;
+    	}
+    public String getRemoteValue() {
+    	return remoteValue;
+    	}
+    public String getResolvedValue() {
+    	return resolvedValue;
+    	}
+    public String getStrategy() {
+    	return strategy;
+    	}
+    public LocalDateTime getDetectedAt() {
+    	return detectedAt;
+    	}
+}
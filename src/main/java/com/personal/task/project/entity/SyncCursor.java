@@ -0,0 +1,50 @@
+package com.personal.task.project.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Persisted high-water mark of a change feed this replica consumes, so a
+ * restart resumes where the last pull stopped.
+ */
+@Entity
+@Table(name = "sync_cursors")
+public class SyncCursor {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private long position;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    protected SyncCursor() {
+    }
+
+    public SyncCursor(String name, long position) {
+        this.name = name;
+        this.position = position;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public String getName() {
+    	return name;
+    	}
+    public long getPosition() {
+    	return position;
+    	}
+    public void setPosition(long position) {
+    	this.position = position;
+    	}
+    public LocalDateTime getUpdatedAt() {
+    	return updatedAt;
+    	}
+}
@@ -11,12 +11,14 @@ public class SyncOps {
         CREATE, UPDATE, DELETE
     }
 
+    // IN_FLIGHT: leased to one sync worker until leaseExpiresAt
     public enum Status {
-        PENDING, SUCCESS, FAILED
+        PENDING, IN_FLIGHT, SUCCESS, FAILED
     }
 
+    // Assigned before the INSERT so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @BlockSequence("sync_operations")
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -31,13 +33,36 @@ public class SyncOps {
     @Column(columnDefinition = "TEXT")
     private String taskData;
 
+    // TaskPayloadCodec format of taskData; null for full Task JSON written before it existed
+    @Column(name = "payload_format")
+    private Integer payloadFormat;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private Status status = Status.PENDING;
 
+    // Task version the snapshot was taken at
+    @Column(name = "task_version")
+    private Long taskVersion;
+
     @Column(nullable = false)
     private int retryCount = 0;
 
+    // Not picked up again before this time; null means due now
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // Sync worker holding the IN_FLIGHT lease
+    @Column(name = "claimed_by", length = 64)
+    private String claimedBy;
+
+    // After this an IN_FLIGHT op is presumed abandoned and goes back to PENDING
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -67,18 +92,54 @@ public class SyncOps {
     public void setTaskData(String taskData) {
     	this.taskData = taskData;
     	}
+    public Integer getPayloadFormat() {
+    	return payloadFormat;
+    	}
+    public void setPayloadFormat(Integer payloadFormat) {
+    	this.payloadFormat = payloadFormat;
+    	}
     public Status getStatus() {
     	return status; 
     	}
     public void setStatus(Status status) {
     	this.status = status; 
     	}
+    public Long getTaskVersion() {
+    	return taskVersion;
+    	}
+    public void setTaskVersion(Long taskVersion) {
+    	this.taskVersion = taskVersion;
+    	}
     public int getRetryCount() { 
     	return retryCount; 
     	}
     public void setRetryCount(int retryCount) {
     	this.retryCount = retryCount; 
     	}
+    public LocalDateTime getNextAttemptAt() {
+    	return nextAttemptAt;
+    	}
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+    	this.nextAttemptAt = nextAttemptAt;
+    	}
+    public String getLastError() {
+    	return lastError;
+    	}
+    public void setLastError(String lastError) {
+    	this.lastError = lastError;
+    	}
+    public String getClaimedBy() {
+    	return claimedBy;
+    	}
+    public void setClaimedBy(String claimedBy) {
+    	this.claimedBy = claimedBy;
+    	}
+    public LocalDateTime getLeaseExpiresAt() {
+    	return leaseExpiresAt;
+    	}
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) {
+    	this.leaseExpiresAt = leaseExpiresAt;
+    	}
     public LocalDateTime getCreatedAt() {
     	return createdAt;
     	}
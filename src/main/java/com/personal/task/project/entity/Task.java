@@ -1,5 +1,6 @@
 package com.personal.task.project.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
@@ -13,13 +14,19 @@ public class Task {
         PENDING, SYNCED, ERROR
     }
 
+    // Assigned before the INSERT so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @BlockSequence("tasks")
     private Long id;
 
     @Column(name = "client_id", unique = true, nullable = false, updatable = false)
     private UUID clientId = UUID.randomUUID();
 
+    // Optimistic lock; also the task's ETag on the REST API
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @NotBlank(message = "Title is required")
     @Column(nullable = false, length = 255)
     private String title;
@@ -49,6 +56,14 @@ public class Task {
     @Column(name = "last_synced_at")
     private LocalDateTime lastSyncedAt;
 
+    // Task JSON as last agreed with the server; the base for three-way merges
+    @Column(name = "sync_base", columnDefinition = "TEXT")
+    private String syncBase;
+
+    // Assigned by a database trigger (migration V2) on every insert and update
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -68,6 +83,12 @@ public class Task {
     public UUID getClientId() {
     	return clientId; 
     	}
+    public void setClientId(UUID clientId) {
+    	this.clientId = clientId;
+    	}
+    public Long getVersion() {
+    	return version;
+    	}
     public String getTitle() { 
     	return title; 
     	}
@@ -116,5 +137,16 @@ public class Task {
     public void setLastSyncedAt(LocalDateTime lastSyncedAt) {
     	this.lastSyncedAt = lastSyncedAt;
     	}
+    @JsonIgnore
+    public String getSyncBase() {
+    	return syncBase;
+    	}
+    public void setSyncBase(String syncBase) {
+    	this.syncBase = syncBase;
+    	}
+    @JsonIgnore
+    public Long getChangeSeq() {
+    	return changeSeq;
+    	}
 }
 
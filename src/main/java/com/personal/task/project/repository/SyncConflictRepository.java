@@ -0,0 +1,16 @@
+package com.personal.task.project.repository;
+
+import com.personal.task.project.entity.SyncConflict;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SyncConflictRepository extends JpaRepository<SyncConflict, Long> {
+
+    List<SyncConflict> findAllByOrderByIdDesc(Pageable pageable);
+
+    List<SyncConflict> findByTaskIdOrderByIdAsc(Long taskId);
+}
@@ -0,0 +1,9 @@
+package com.personal.task.project.repository;
+
+import com.personal.task.project.entity.SyncCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SyncCursorRepository extends JpaRepository<SyncCursor, String> {
+}
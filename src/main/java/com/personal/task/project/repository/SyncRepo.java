@@ -1,12 +1,21 @@
 package com.personal.task.project.repository;
 
+import com.personal.task.project.dto.SyncOpRecord;
 import com.personal.task.project.entity.SyncOps;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface SyncRepo extends JpaRepository<SyncOps, Long> {
@@ -15,6 +24,138 @@ public interface SyncRepo extends JpaRepository<SyncOps, Long> {
 
     List<SyncOps> findByStatus(SyncOps.Status status);
 
+    long countByStatus(SyncOps.Status status);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.personal.task.project.dto.SyncOpRecord(s.id, s.operationType, s.taskId, s.taskData, " +
+           "s.payloadFormat, s.status, s.taskVersion, s.retryCount, s.nextAttemptAt, s.lastError, s.createdAt) " +
+           "FROM SyncOps s ORDER BY s.id")
+    Stream<SyncOpRecord> streamRecords();
+
+    SyncOps findFirstByStatusOrderByCreatedAtAscIdAsc(SyncOps.Status status);
+
+    // Keyset paging over the outbox: first page, then everything after the last (createdAt, id) seen.
+    // Due ops only. An op also waits while an earlier op of its task is backing off or in flight,
+    // so a task's ops never go out of order
+    String DUE = "s.status = :status AND (s.nextAttemptAt IS NULL OR s.nextAttemptAt <= :now) " +
+           "AND NOT EXISTS (SELECT p.id FROM SyncOps p WHERE p.taskId = s.taskId " +
+           "AND ((p.status = :status AND p.nextAttemptAt > :now) " +
+           "OR p.status = com.personal.task.project.entity.SyncOps.Status.IN_FLIGHT) " +
+           "AND (p.createdAt < s.createdAt OR (p.createdAt = s.createdAt AND p.id < s.id))) ";
+
+    @Query("SELECT s FROM SyncOps s WHERE " + DUE + "ORDER BY s.createdAt ASC, s.id ASC")
+    List<SyncOps> findDue(@Param("status") SyncOps.Status status,
+                          @Param("now") LocalDateTime now,
+                          Pageable pageable);
+
+    @Query("SELECT s FROM SyncOps s WHERE " + DUE +
+           "AND (s.createdAt > :createdAt OR (s.createdAt = :createdAt AND s.id > :id)) " +
+           "ORDER BY s.createdAt ASC, s.id ASC")
+    List<SyncOps> findDueAfter(@Param("status") SyncOps.Status status,
+                               @Param("now") LocalDateTime now,
+                               @Param("createdAt") LocalDateTime createdAt,
+                               @Param("id") Long id,
+                               Pageable pageable);
+
+    // When the trigger should wake up for the next op that is backing off
+    @Query("SELECT MIN(s.nextAttemptAt) FROM SyncOps s WHERE s.status = :status AND s.nextAttemptAt > :now")
+    LocalDateTime findNextAttemptAfter(@Param("status") SyncOps.Status status, @Param("now") LocalDateTime now);
+
+    // Dead letters, newest first
+    List<SyncOps> findByStatusOrderByIdDesc(SyncOps.Status status, Pageable pageable);
+
     @Query("SELECT s FROM SyncOps s WHERE s.taskId = :taskId ORDER BY s.createdAt ASC")
     List<SyncOps> findByTaskIdOrderByCreatedAtAsc(@Param("taskId") Long taskId);
-}
\ No newline at end of file
+
+    SyncOps findFirstByTaskIdAndStatusOrderByCreatedAtDescIdDesc(Long taskId, SyncOps.Status status);
+
+    // Sync bookkeeping writes single columns instead of merging whole detached rows
+
+    /*
+     * Lease protocol. claim() moves a batch PENDING -> IN_FLIGHT in one statement, so of two
+     * workers racing for a row exactly one gets it. An op is only taken if every earlier
+     * unfinished op of its task is taken with it, which keeps a task's ops on one worker and
+     * in order. Every later write is fenced on claimedBy: a worker whose lease expired and
+     * was recovered cannot overwrite the new holder's outcome.
+     */
+
+    @Modifying
+    @Query("UPDATE SyncOps s SET s.status = :inFlight, s.claimedBy = :owner, s.leaseExpiresAt = :until " +
+           "WHERE s.id IN :ids AND s.status = :pending " +
+           "AND NOT EXISTS (SELECT p.id FROM SyncOps p WHERE p.taskId = s.taskId AND p.status IN (:pending, :inFlight) " +
+           "AND (p.createdAt < s.createdAt OR (p.createdAt = s.createdAt AND p.id < s.id)) " +
+           "AND NOT (p.id IN :ids AND (p.status = :pending OR p.claimedBy = :owner)))")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("owner") String owner,
+              @Param("until") LocalDateTime until,
+              @Param("pending") SyncOps.Status pending,
+              @Param("inFlight") SyncOps.Status inFlight);
+
+    @Query("SELECT s.id FROM SyncOps s WHERE s.id IN :ids AND s.claimedBy = :owner")
+    List<Long> findClaimedIds(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
+
+    @Modifying
+    @Query("UPDATE SyncOps s SET s.status = :status, s.claimedBy = NULL, s.leaseExpiresAt = NULL " +
+           "WHERE s.id IN :ids AND s.claimedBy = :owner")
+    int complete(@Param("ids") Collection<Long> ids, @Param("owner") String owner, @Param("status") SyncOps.Status status);
+
+    // Hands back ops that were claimed but not attempted
+    @Modifying
+    @Query("UPDATE SyncOps s SET s.status = :pending, s.claimedBy = NULL, s.leaseExpiresAt = NULL " +
+           "WHERE s.id IN :ids AND s.claimedBy = :owner")
+    int release(@Param("ids") Collection<Long> ids, @Param("owner") String owner, @Param("pending") SyncOps.Status pending);
+
+    // Leases of workers that died or stalled past their expiry
+    @Modifying
+    @Query("UPDATE SyncOps s SET s.status = :pending, s.claimedBy = NULL, s.leaseExpiresAt = NULL " +
+           "WHERE s.status = :inFlight AND s.leaseExpiresAt < :now")
+    int recoverExpiredLeases(@Param("now") LocalDateTime now,
+                             @Param("pending") SyncOps.Status pending,
+                             @Param("inFlight") SyncOps.Status inFlight);
+
+    @Modifying
+    @Query("UPDATE SyncOps s SET s.status = :status, s.retryCount = :retryCount, " +
+           "s.nextAttemptAt = :nextAttemptAt, s.lastError = :lastError, s.claimedBy = NULL, s.leaseExpiresAt = NULL " +
+           "WHERE s.id = :id AND s.claimedBy = :owner")
+    int recordAttempt(@Param("id") Long id,
+                      @Param("owner") String owner,
+                      @Param("status") SyncOps.Status status,
+                      @Param("retryCount") int retryCount,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                      @Param("lastError") String lastError);
+
+    @Modifying
+    @Query("UPDATE SyncOps s SET s.status = :pending, s.retryCount = 0, s.nextAttemptAt = NULL, s.lastError = NULL " +
+           "WHERE s.id IN :ids AND s.status = :failed")
+    int requeue(@Param("ids") Collection<Long> ids,
+                @Param("pending") SyncOps.Status pending,
+                @Param("failed") SyncOps.Status failed);
+
+    @Modifying
+    @Query("UPDATE SyncOps s SET s.operationType = :type WHERE s.id = :id")
+    int updateOperationType(@Param("id") Long id, @Param("type") SyncOps.OperationType type);
+
+    @Modifying
+    @Query("UPDATE SyncOps s SET s.operationType = :type, s.taskData = :taskData, s.payloadFormat = :format, " +
+           "s.taskVersion = :taskVersion WHERE s.id = :id")
+    int updateTaskData(@Param("id") Long id,
+                       @Param("type") SyncOps.OperationType type,
+                       @Param("taskData") String taskData,
+                       @Param("format") Integer format,
+                       @Param("taskVersion") Long taskVersion);
+
+    // Retention: ops finished before the cutoff, oldest first, one batch at a time
+
+    @Query("SELECT s.id FROM SyncOps s WHERE s.status = :status AND s.createdAt < :cutoff ORDER BY s.createdAt, s.id")
+    List<Long> findIdsCreatedBefore(@Param("status") SyncOps.Status status,
+                                    @Param("cutoff") LocalDateTime cutoff,
+                                    Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM SyncOps s WHERE s.id IN :ids AND s.status = :status")
+    int deleteByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") SyncOps.Status status);
+
+    @Modifying
+    @Query("DELETE FROM SyncOps s WHERE s.taskId IN :taskIds")
+    int deleteByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+}
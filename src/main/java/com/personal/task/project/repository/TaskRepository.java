@@ -1,12 +1,176 @@
 package com.personal.task.project.repository;
 
+import com.personal.task.project.dto.TaskRecord;
+import com.personal.task.project.dto.TaskSummary;
+import com.personal.task.project.entity.SyncOps;
 import com.personal.task.project.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
-    List<Task> findByIsDeletedFalse();
+
+    List<Task> findByClientIdIn(Collection<UUID> clientIds);
+
+    List<Task> findByServerIdIn(Collection<String> serverIds);
+
+    // Cursor pages over live tasks by id; null filters are ignored
+
+    @Query("SELECT t FROM Task t WHERE t.isDeleted = false AND t.id > :cursor " +
+           "AND (:completed IS NULL OR t.completed = :completed) " +
+           "AND (:syncStatus IS NULL OR t.syncStatus = :syncStatus) " +
+           "AND (:updatedSince IS NULL OR t.updatedAt >= :updatedSince) " +
+           "ORDER BY t.id ASC")
+    List<Task> findPage(@Param("cursor") Long cursor,
+                        @Param("completed") Boolean completed,
+                        @Param("syncStatus") Task.SyncStatus syncStatus,
+                        @Param("updatedSince") LocalDateTime updatedSince,
+                        Pageable pageable);
+
+    @Query("SELECT new com.personal.task.project.dto.TaskSummary(t.id, t.clientId, t.title, t.completed, t.syncStatus, t.updatedAt) " +
+           "FROM Task t WHERE t.isDeleted = false AND t.id > :cursor " +
+           "AND (:completed IS NULL OR t.completed = :completed) " +
+           "AND (:syncStatus IS NULL OR t.syncStatus = :syncStatus) " +
+           "AND (:updatedSince IS NULL OR t.updatedAt >= :updatedSince) " +
+           "ORDER BY t.id ASC")
+    List<TaskSummary> findSummaryPage(@Param("cursor") Long cursor,
+                                      @Param("completed") Boolean completed,
+                                      @Param("syncStatus") Task.SyncStatus syncStatus,
+                                      @Param("updatedSince") LocalDateTime updatedSince,
+                                      Pageable pageable);
+
+    // Change feed: each task appears once, at the sequence of its latest change
+
+    @Query("SELECT t FROM Task t WHERE t.changeSeq > :since AND t.changeSeq <= :upTo ORDER BY t.changeSeq ASC")
+    List<Task> findChanges(@Param("since") long since, @Param("upTo") long upTo, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(t.changeSeq), 0) FROM Task t")
+    long findLatestChangeSeq();
+
+    // Full-text search (migration V5): best match first, title hits weighted over description
+
+    @Query(value = "SELECT t.* FROM tasks_fts f JOIN tasks t ON t.id = f.rowid " +
+                   "WHERE tasks_fts MATCH :query AND t.is_deleted = 0 " +
+                   "ORDER BY bm25(tasks_fts, 4.0, 1.0), t.id LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<Task> search(@Param("query") String query, @Param("limit") int limit, @Param("offset") long offset);
+
+    // Export cursor. A projection, so rows are never attached to the persistence context
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.personal.task.project.dto.TaskRecord(t.id, t.clientId, t.version, t.title, t.description, " +
+           "t.completed, t.createdAt, t.updatedAt, t.isDeleted, t.syncStatus, t.serverId, t.lastSyncedAt, t.syncBase) " +
+           "FROM Task t WHERE (:tombstones = true OR t.isDeleted = false) ORDER BY t.id")
+    Stream<TaskRecord> streamRecords(@Param("tombstones") boolean tombstones);
+
+    // Bulk updates skip @PreUpdate, so sync bookkeeping never bumps updatedAt
+
+    @Modifying
+    @Query("UPDATE Task t SET t.syncStatus = :status WHERE t.id IN :ids")
+    int updateSyncStatus(@Param("ids") Collection<Long> ids, @Param("status") Task.SyncStatus status);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.syncStatus = :synced WHERE t.id IN :ids " +
+           "AND NOT EXISTS (SELECT s.id FROM SyncOps s WHERE s.taskId = t.id AND s.status IN :pending)")
+    int markSyncedIfNothingPending(@Param("ids") Collection<Long> ids,
+                                   @Param("pending") Collection<SyncOps.Status> pending,
+                                   @Param("synced") Task.SyncStatus synced);
+
+    // Stays PENDING if another op for the task was queued while this one was in flight
+    @Modifying
+    @Query("UPDATE Task t SET t.serverId = COALESCE(:serverId, t.serverId), t.lastSyncedAt = :syncedAt, " +
+           "t.syncBase = COALESCE(:base, t.syncBase), " +
+           "t.syncStatus = CASE WHEN EXISTS (SELECT s.id FROM SyncOps s WHERE s.taskId = t.id AND s.status IN :pending) " +
+           "THEN t.syncStatus ELSE :synced END " +
+           "WHERE t.id = :id")
+    int markSynced(@Param("id") Long id,
+                   @Param("serverId") String serverId,
+                   @Param("syncedAt") LocalDateTime syncedAt,
+                   @Param("base") String base,
+                   @Param("pending") Collection<SyncOps.Status> pending,
+                   @Param("synced") Task.SyncStatus synced);
+
+    // Pulled server changes only land on rows without unsynced local writes. They change
+    // content, so they bump the version and stale If-Match requests fail
+
+    @Modifying
+    @Query("UPDATE Task t SET t.serverId = :serverId, t.title = :title, t.description = :description, " +
+           "t.completed = :completed, t.updatedAt = :changedAt, t.lastSyncedAt = :changedAt, t.syncBase = :base, " +
+           "t.version = t.version + 1 " +
+           "WHERE t.id = :id AND t.syncStatus = :synced")
+    int applyServerUpdate(@Param("id") Long id,
+                          @Param("serverId") String serverId,
+                          @Param("title") String title,
+                          @Param("description") String description,
+                          @Param("completed") boolean completed,
+                          @Param("changedAt") LocalDateTime changedAt,
+                          @Param("base") String base,
+                          @Param("synced") Task.SyncStatus synced);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.serverId = :serverId, t.isDeleted = true, t.updatedAt = :changedAt, t.lastSyncedAt = :changedAt, " +
+           "t.version = t.version + 1 " +
+           "WHERE t.id = :id AND t.syncStatus = :synced")
+    int applyServerDelete(@Param("id") Long id,
+                          @Param("serverId") String serverId,
+                          @Param("changedAt") LocalDateTime changedAt,
+                          @Param("synced") Task.SyncStatus synced);
+
+    // Result of a three-way merge on a task with unpushed writes; it stays PENDING
+    @Modifying
+    @Query("UPDATE Task t SET t.serverId = :serverId, t.title = :title, t.description = :description, " +
+           "t.completed = :completed, t.isDeleted = :deleted, t.syncBase = :base, t.version = t.version + :bump " +
+           "WHERE t.id = :id")
+    int applyMerge(@Param("id") Long id,
+                   @Param("serverId") String serverId,
+                   @Param("title") String title,
+                   @Param("description") String description,
+                   @Param("completed") boolean completed,
+                   @Param("deleted") boolean deleted,
+                   @Param("base") String base,
+                   @Param("bump") long bump);
+
+    // Compaction: tombstones whose delete reached the server before the cutoff and
+    // that have nothing but finished ops left in the outbox
+
+    @Query("SELECT t.id FROM Task t WHERE t.isDeleted = true AND t.syncStatus = :synced AND t.lastSyncedAt < :cutoff " +
+           "AND NOT EXISTS (SELECT s.id FROM SyncOps s WHERE s.taskId = t.id AND s.status <> :success) " +
+           "ORDER BY t.lastSyncedAt, t.id")
+    List<Long> findPurgeableTombstones(@Param("cutoff") LocalDateTime cutoff,
+                                       @Param("synced") Task.SyncStatus synced,
+                                       @Param("success") SyncOps.Status success,
+                                       Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(t.changeSeq), 0) FROM Task t WHERE t.id IN :ids")
+    long findMaxChangeSeq(@Param("ids") Collection<Long> ids);
+
+    // Raised by the change_seq triggers on every insert and update (migration V2). Unlike
+    // MAX(change_seq) it never goes back, not even when tombstones are purged
+    @Query(value = "SELECT COALESCE(MAX(value), 0) FROM change_sequence WHERE name = 'tasks'", nativeQuery = true)
+    long findChangeSeq();
+
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.id IN :ids AND t.isDeleted = true AND t.syncStatus = :synced")
+    int deleteTombstones(@Param("ids") Collection<Long> ids, @Param("synced") Task.SyncStatus synced);
+
+    // Purge horizon of the change feed (migration V6)
+
+    @Query(value = "SELECT COALESCE(MAX(value), 0) FROM change_sequence WHERE name = 'tasks_purged'", nativeQuery = true)
+    long findPurgedChangeSeq();
+
+    @Modifying
+    @Query(value = "UPDATE change_sequence SET value = MAX(value, :seq) WHERE name = 'tasks_purged'", nativeQuery = true)
+    int raisePurgedChangeSeq(@Param("seq") long seq);
 }
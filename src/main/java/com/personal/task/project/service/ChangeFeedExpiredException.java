@@ -0,0 +1,19 @@
+package com.personal.task.project.service;
+
+/**
+ * Thrown when a change feed cursor predates purged tombstones: the caller may
+ * have missed deletes and has to start over from 0.
+ */
+public class ChangeFeedExpiredException extends RuntimeException {
+
+    private final long purgedThrough;
+
+    public ChangeFeedExpiredException(long since, long purgedThrough) {
+        super("Change feed cursor " + since + " is older than purged changes up to " + purgedThrough);
+        this.purgedThrough = purgedThrough;
+    }
+
+    public long getPurgedThrough() {
+        return purgedThrough;
+    }
+}
@@ -0,0 +1,18 @@
+package com.personal.task.project.service;
+
+import org.springframework.stereotype.Component;
+
+// The old behaviour: the local edit is pushed over whatever the server has
+@Component
+public class ClientWinsStrategy implements ConflictStrategy {
+
+    @Override
+    public String getName() {
+        return "client-wins";
+    }
+
+    @Override
+    public Object resolve(FieldConflict conflict) {
+        return conflict.local();
+    }
+}
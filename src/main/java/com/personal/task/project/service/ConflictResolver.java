@@ -0,0 +1,66 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.entity.SyncConflict;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Per-field three-way merge of a local task against a server change, using
+ * the snapshot both sides last agreed on as the base. A field changed on one
+ * side only takes that side's value; only fields changed differently on both
+ * sides go to the configured {@link ConflictStrategy} and are reported.
+ * Everything runs in memory on data the pull already has.
+ */
+@Component
+public class ConflictResolver {
+
+    private final ConflictStrategy strategy;
+
+    public ConflictResolver(List<ConflictStrategy> strategies,
+                            @Value("${app.sync.conflict.strategy:last-writer-wins}") String strategyName) {
+        this.strategy = strategies.stream()
+                .filter(candidate -> candidate.getName().equalsIgnoreCase(strategyName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown conflict strategy: " + strategyName));
+    }
+
+    public MergeResult merge(Long taskId, TaskSnapshot base, TaskSnapshot local, TaskSnapshot remote,
+                             LocalDateTime localUpdatedAt, LocalDateTime remoteUpdatedAt) {
+        Map<String, Object> baseFields = base != null ? base.fields() : null;
+        Map<String, Object> localFields = local.fields();
+        Map<String, Object> remoteFields = remote.fields();
+        Map<String, Object> merged = new LinkedHashMap<>();
+        List<SyncConflict> conflicts = new ArrayList<>();
+
+        for (Map.Entry<String, Object> entry : localFields.entrySet()) {
+            String field = entry.getKey();
+            Object mine = entry.getValue();
+            Object theirs = remoteFields.get(field);
+            Object original = baseFields != null ? baseFields.get(field) : null;
+
+            if (Objects.equals(mine, theirs)) {
+                merged.put(field, mine);
+            } else if (baseFields != null && Objects.equals(mine, original)) {
+                merged.put(field, theirs);
+            } else if (baseFields != null && Objects.equals(theirs, original)) {
+                merged.put(field, mine);
+            } else {
+                Object resolved = strategy.resolve(new FieldConflict(taskId, field, original, mine, theirs,
+                        localUpdatedAt, remoteUpdatedAt));
+                merged.put(field, resolved);
+                conflicts.add(new SyncConflict(taskId, field, original, mine, theirs, resolved, strategy.getName()));
+            }
+        }
+        return new MergeResult(TaskSnapshot.fromFields(merged), conflicts);
+    }
+
+    public record MergeResult(TaskSnapshot merged, List<SyncConflict> conflicts) {
+    }
+}
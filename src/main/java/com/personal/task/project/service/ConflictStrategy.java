@@ -0,0 +1,13 @@
+package com.personal.task.project.service;
+
+/**
+ * Decides the value of a field that was changed on both sides. Implementations
+ * are Spring beans; the active one is picked by {@code app.sync.conflict.strategy}.
+ * A custom strategy only needs to be registered as a bean with its own name.
+ */
+public interface ConflictStrategy {
+
+    String getName();
+
+    Object resolve(FieldConflict conflict);
+}
@@ -0,0 +1,16 @@
+package com.personal.task.project.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * One field that both this replica and the server changed since the last
+ * agreed base. {@code base} is null when no base snapshot was recorded.
+ */
+public record FieldConflict(Long taskId,
+                            String field,
+                            Object base,
+                            Object local,
+                            Object remote,
+                            LocalDateTime localUpdatedAt,
+                            LocalDateTime remoteUpdatedAt) {
+}
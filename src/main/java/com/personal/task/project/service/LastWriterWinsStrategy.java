@@ -0,0 +1,24 @@
+package com.personal.task.project.service;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * The side with the later modification time wins; ties go to the server so
+ * every replica resolves the same way.
+ */
+@Component
+public class LastWriterWinsStrategy implements ConflictStrategy {
+
+    @Override
+    public String getName() {
+        return "last-writer-wins";
+    }
+
+    @Override
+    public Object resolve(FieldConflict conflict) {
+        if (conflict.localUpdatedAt() == null || conflict.remoteUpdatedAt() == null) {
+            return conflict.remote();
+        }
+        return conflict.localUpdatedAt().isAfter(conflict.remoteUpdatedAt()) ? conflict.local() : conflict.remote();
+    }
+}
@@ -0,0 +1,131 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.repository.SyncRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Folds the pending ops of each task into the smallest equivalent set before
+ * they are dispatched:
+ *
+ * CREATE + UPDATE*          -> CREATE with the latest snapshot
+ * UPDATE* + UPDATE          -> UPDATE with the latest snapshot
+ * UPDATE* + DELETE          -> DELETE
+ * CREATE + ... + DELETE     -> nothing
+ *
+ * The surviving op is always the newest row of the chain; superseded rows are
+ * deleted. An UPDATE whose task has already moved past the version it carries
+ * is dropped as well, since a newer op for that task is still queued. Compaction runs in the sync's per-page transaction so it never
+ * races a dispatch that is holding the same rows.
+ */
+@Component
+public class OutboxCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxCompactor.class);
+
+    private final SyncRepo syncRepo;
+    private final Counter eliminatedOps;
+    private final Counter cancelledTasks;
+
+    public OutboxCompactor(SyncRepo syncRepo, MeterRegistry meterRegistry) {
+        this.syncRepo = syncRepo;
+        this.eliminatedOps = Counter.builder("sync.outbox.eliminated")
+                .description("Outbox ops removed by coalescing before dispatch")
+                .register(meterRegistry);
+        this.cancelledTasks = Counter.builder("sync.outbox.cancelled")
+                .description("Tasks created and deleted offline whose ops were dropped entirely")
+                .register(meterRegistry);
+    }
+
+    public List<SyncOps> compact(List<SyncOps> ops) {
+        return compact(ops, Map.of());
+    }
+
+    /**
+     * Returns the ops that still need to be sent, in their original order.
+     *
+     * @param currentVersions current version of each task, by task id
+     */
+    public List<SyncOps> compact(List<SyncOps> ops, Map<Long, Long> currentVersions) {
+        Map<Long, List<SyncOps>> chains = new LinkedHashMap<>();
+        for (SyncOps op : ops) {
+            chains.computeIfAbsent(op.getTaskId(), id -> new ArrayList<>()).add(op);
+        }
+
+        Set<SyncOps> superseded = new HashSet<>();
+        for (List<SyncOps> chain : chains.values()) {
+            if (chain.size() > 1) {
+                fold(chain, superseded);
+            }
+        }
+
+        for (SyncOps op : ops) {
+            if (!superseded.contains(op) && isStale(op, currentVersions.get(op.getTaskId()))) {
+                superseded.add(op);
+            }
+        }
+
+        if (superseded.isEmpty()) {
+            return ops;
+        }
+
+        syncRepo.deleteAllByIdInBatch(superseded.stream().map(SyncOps::getId).toList());
+        eliminatedOps.increment(superseded.size());
+        log.debug("Coalesced away {} redundant sync operations", superseded.size());
+
+        List<SyncOps> survivors = new ArrayList<>(ops.size() - superseded.size());
+        for (SyncOps op : ops) {
+            if (!superseded.contains(op)) {
+                survivors.add(op);
+            }
+        }
+        return survivors;
+    }
+
+    // CREATEs and DELETEs always go out; only a full-snapshot UPDATE can be replaced by a later one
+    private boolean isStale(SyncOps op, Long currentVersion) {
+        return op.getOperationType() == SyncOps.OperationType.UPDATE
+                && op.getTaskVersion() != null
+                && currentVersion != null
+                && op.getTaskVersion() < currentVersion;
+    }
+
+    private void fold(List<SyncOps> chain, Set<SyncOps> superseded) {
+        chain.sort(Comparator.comparing(SyncOps::getCreatedAt).thenComparing(SyncOps::getId));
+
+        // A DELETE followed by more ops is not a shape TaskService produces; leave it alone
+        for (int i = 0; i < chain.size() - 1; i++) {
+            if (chain.get(i).getOperationType() == SyncOps.OperationType.DELETE) {
+                return;
+            }
+        }
+
+        SyncOps first = chain.get(0);
+        SyncOps last = chain.get(chain.size() - 1);
+
+        if (first.getOperationType() == SyncOps.OperationType.CREATE
+                && last.getOperationType() == SyncOps.OperationType.DELETE) {
+            superseded.addAll(chain);
+            cancelledTasks.increment();
+            return;
+        }
+
+        if (first.getOperationType() == SyncOps.OperationType.CREATE) {
+            last.setOperationType(SyncOps.OperationType.CREATE);
+            syncRepo.updateOperationType(last.getId(), SyncOps.OperationType.CREATE);
+        }
+        superseded.addAll(chain.subList(0, chain.size() - 1));
+    }
+}
@@ -0,0 +1,294 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.dto.ChangeFeedPage;
+import com.personal.task.project.dto.TaskChange;
+import com.personal.task.project.entity.SyncCursor;
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.repository.SyncConflictRepository;
+import com.personal.task.project.repository.SyncCursorRepository;
+import com.personal.task.project.repository.SyncRepo;
+import com.personal.task.project.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Pull side of sync. Reads the server's change feed ({@code GET /tasks/changes},
+ * the same shape this app serves) from the persisted high-water mark, one page
+ * at a time, and applies each page in one short transaction together with the
+ * new mark. A 410 means the mark predates tombstones the server has purged;
+ * the pull then starts over from 0.
+ *
+ * Tasks are matched by serverId, then by clientId. SYNCED rows simply take the
+ * server's version. Rows with unpushed local writes are three-way merged by
+ * {@link ConflictResolver} against their base snapshot; the merged state is
+ * written to the row and to its latest pending op (or a new op, if that one
+ * is already in flight), so the push that follows sends the merge rather
+ * than overwriting the server's edits.
+ */
+@Component
+public class ServerChangePuller {
+
+    private static final Logger log = LoggerFactory.getLogger(ServerChangePuller.class);
+
+    static final String CURSOR_NAME = "server-tasks";
+
+    private final RestTemplate restTemplate;
+    private final TaskRepository taskRepository;
+    private final SyncCursorRepository cursorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskVersionTracker versionTracker;
+    private final ConflictResolver conflictResolver;
+    private final SyncRepo syncRepo;
+    private final SyncConflictRepository conflictRepository;
+    private final TaskPayloadCodec payloadCodec;
+    private final SyncMetrics metrics;
+    private final String serverUrl;
+    private final int pageSize;
+    private final boolean enabled;
+
+    public ServerChangePuller(RestTemplate restTemplate,
+                              TaskRepository taskRepository,
+                              SyncCursorRepository cursorRepository,
+                              TransactionTemplate transactionTemplate,
+                              TaskVersionTracker versionTracker,
+                              ConflictResolver conflictResolver,
+                              SyncRepo syncRepo,
+                              SyncConflictRepository conflictRepository,
+                              TaskPayloadCodec payloadCodec,
+                              SyncMetrics metrics,
+                              @Value("${app.sync.server-url:http://localhost:8081/api}") String serverUrl,
+                              @Value("${app.sync.pull.page-size:200}") int pageSize,
+                              @Value("${app.sync.pull.enabled:true}") boolean enabled) {
+        this.restTemplate = restTemplate;
+        this.taskRepository = taskRepository;
+        this.cursorRepository = cursorRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.versionTracker = versionTracker;
+        this.conflictResolver = conflictResolver;
+        this.syncRepo = syncRepo;
+        this.conflictRepository = conflictRepository;
+        this.payloadCodec = payloadCodec;
+        this.metrics = metrics;
+        this.serverUrl = serverUrl;
+        this.pageSize = pageSize;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Pulls everything the server has changed since the last run.
+     *
+     * @return the number of local rows inserted or updated
+     */
+    public int pull() {
+        if (!enabled) {
+            return 0;
+        }
+
+        long since = cursorRepository.findById(CURSOR_NAME).map(SyncCursor::getPosition).orElse(0L);
+        int applied = 0;
+
+        while (true) {
+            ChangeFeedPage page;
+            try {
+                page = fetch(since);
+            } catch (HttpClientErrorException.Gone e) {
+                if (since == 0) {
+                    break;
+                }
+                // The server purged tombstones past our mark. Start over from 0: every live task comes
+                // again, but deletes in the purged range are never seen
+                log.warn("Server change feed cursor {} expired, pulling everything again", since);
+                since = 0;
+                continue;
+            }
+            if (page == null) {
+                break; // the mark stays put and the next run resumes from it
+            }
+
+            Integer pageApplied;
+            try {
+                pageApplied = transactionTemplate.execute(status -> applyPage(page));
+            } catch (RuntimeException e) {
+                // e.g. a local write won the lock; the page is fetched again next run
+                log.warn("Failed to apply server changes: {}", e.getMessage());
+                break;
+            }
+            applied += pageApplied == null ? 0 : pageApplied;
+            since = page.cursor();
+
+            if (!page.hasMore() || page.changes().isEmpty()) {
+                break;
+            }
+        }
+        return applied;
+    }
+
+    private ChangeFeedPage fetch(long since) {
+        try {
+            return restTemplate.getForObject(serverUrl + "/tasks/changes?since={since}&limit={limit}",
+                    ChangeFeedPage.class, since, pageSize);
+        } catch (HttpClientErrorException.Gone e) {
+            throw e;
+        } catch (Exception e) {
+            log.warn("Failed to pull server changes: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private int applyPage(ChangeFeedPage page) {
+        Set<String> serverIds = new HashSet<>();
+        Set<UUID> clientIds = new HashSet<>();
+        for (TaskChange change : page.changes()) {
+            serverIds.add(String.valueOf(change.id()));
+            if (change.clientId() != null) {
+                clientIds.add(change.clientId());
+            }
+        }
+
+        // Two lookups for the whole page instead of one per change
+        Map<String, Task> byServerId = new HashMap<>();
+        Map<UUID, Task> byClientId = new HashMap<>();
+        if (!serverIds.isEmpty()) {
+            taskRepository.findByServerIdIn(serverIds).forEach(task -> byServerId.put(task.getServerId(), task));
+        }
+        if (!clientIds.isEmpty()) {
+            taskRepository.findByClientIdIn(clientIds).forEach(task -> byClientId.put(task.getClientId(), task));
+        }
+
+        List<Task> inserts = new ArrayList<>();
+        List<Long> touched = new ArrayList<>();
+        int applied = 0;
+
+        for (TaskChange change : page.changes()) {
+            String serverId = String.valueOf(change.id());
+            LocalDateTime changedAt = change.changedAt() != null ? change.changedAt() : LocalDateTime.now();
+            Task local = byServerId.get(serverId);
+            if (local == null && change.clientId() != null) {
+                local = byClientId.get(change.clientId());
+            }
+
+            if (local == null) {
+                if (change.type() == TaskChange.Type.UPSERT && change.task() != null) {
+                    inserts.add(newLocalTask(change, serverId, changedAt));
+                }
+                continue; // tombstones for tasks this replica never had need nothing
+            }
+            touched.add(local.getId());
+
+            if (local.getSyncStatus() != Task.SyncStatus.SYNCED) {
+                applied += merge(local, change, serverId, changedAt);
+            } else if (change.type() == TaskChange.Type.DELETE) {
+                if (!alreadyApplied(local, serverId, TaskSnapshot.of(local).withDeleted(true))) {
+                    applied += taskRepository.applyServerDelete(local.getId(), serverId, changedAt, Task.SyncStatus.SYNCED);
+                }
+            } else if (change.task() != null && !alreadyApplied(local, serverId, TaskSnapshot.of(change.task()))) {
+                Task remote = change.task();
+                applied += taskRepository.applyServerUpdate(local.getId(), serverId, remote.getTitle(),
+                        remote.getDescription(), remote.isCompleted(), changedAt, payloadCodec.encode(remote), Task.SyncStatus.SYNCED);
+            }
+        }
+
+        if (!inserts.isEmpty()) {
+            taskRepository.saveAll(inserts).forEach(task -> touched.add(task.getId()));
+            applied += inserts.size();
+        }
+
+        SyncCursor cursor = cursorRepository.findById(CURSOR_NAME).orElseGet(() -> new SyncCursor(CURSOR_NAME, 0L));
+        cursor.setPosition(page.cursor());
+        cursorRepository.save(cursor);
+
+        if (applied > 0) {
+            versionTracker.markChanged(touched);
+        }
+        return applied;
+    }
+
+    // The echo of our own push, for one: writing it would only bump the version and fail a valid If-Match
+    private static boolean alreadyApplied(Task local, String serverId, TaskSnapshot theirs) {
+        return serverId.equals(local.getServerId()) && TaskSnapshot.of(local).equals(theirs);
+    }
+
+    private int merge(Task local, TaskChange change, String serverId, LocalDateTime changedAt) {
+        TaskSnapshot base = local.getSyncBase() != null ? payloadCodec.decode(local.getSyncBase()) : null;
+        TaskSnapshot mine = TaskSnapshot.of(local);
+        // A tombstone only changes the deleted flag relative to what we last agreed on
+        TaskSnapshot theirs = change.type() == TaskChange.Type.DELETE || change.task() == null
+                ? (base != null ? base : mine).withDeleted(true)
+                : TaskSnapshot.of(change.task());
+
+        ConflictResolver.MergeResult result = conflictResolver.merge(local.getId(), base, mine, theirs,
+                local.getUpdatedAt(), changedAt);
+        if (!result.conflicts().isEmpty()) {
+            conflictRepository.saveAll(result.conflicts());
+            metrics.conflicts(result.conflicts().size());
+            log.info("Resolved {} conflicting field(s) on task {}", result.conflicts().size(), local.getId());
+        }
+
+        // The server's version is the new base: the pending op now carries only our side of the merge
+        String newBase = change.task() != null ? payloadCodec.encode(change.task()) : local.getSyncBase();
+        TaskSnapshot merged = result.merged();
+        boolean changed = !merged.equals(mine);
+        taskRepository.applyMerge(local.getId(), serverId, merged.title(), merged.description(),
+                merged.completed(), merged.deleted(), newBase, changed ? 1 : 0);
+
+        if (changed) {
+            // Rewritten at the new version so the op is not mistaken for a superseded one
+            long version = local.getVersion() + 1;
+            String payload = payloadCodec.encode(local.getClientId(), merged, version, local.getUpdatedAt());
+            SyncOps pending = syncRepo.findFirstByTaskIdAndStatusOrderByCreatedAtDescIdDesc(local.getId(), SyncOps.Status.PENDING);
+            if (pending != null) {
+                // A server delete turns a pending edit into a delete; a create not yet pushed stays one
+                SyncOps.OperationType type = merged.deleted() ? SyncOps.OperationType.DELETE
+                        : pending.getOperationType() == SyncOps.OperationType.CREATE ? SyncOps.OperationType.CREATE
+                        : SyncOps.OperationType.UPDATE;
+                syncRepo.updateTaskData(pending.getId(), type, payload, TaskPayloadCodec.FORMAT_VERSION, version);
+            } else {
+                // The op is leased and on the wire with the old payload; the merge follows it in a new one
+                syncRepo.save(mergeOp(local.getId(), merged, payload, version));
+            }
+        }
+        return 1;
+    }
+
+    private static SyncOps mergeOp(Long taskId, TaskSnapshot merged, String payload, long version) {
+        SyncOps syncOp = new SyncOps();
+        syncOp.setOperationType(merged.deleted() ? SyncOps.OperationType.DELETE : SyncOps.OperationType.UPDATE);
+        syncOp.setTaskId(taskId);
+        syncOp.setTaskVersion(version);
+        syncOp.setTaskData(payload);
+        syncOp.setPayloadFormat(TaskPayloadCodec.FORMAT_VERSION);
+        return syncOp;
+    }
+
+    // Server-originated, so it starts SYNCED and gets no outbox row
+    private Task newLocalTask(TaskChange change, String serverId, LocalDateTime changedAt) {
+        Task remote = change.task();
+        Task task = new Task();
+        if (change.clientId() != null) {
+            task.setClientId(change.clientId());
+        }
+        task.setTitle(remote.getTitle());
+        task.setDescription(remote.getDescription());
+        task.setCompleted(remote.isCompleted());
+        task.setServerId(serverId);
+        task.setLastSyncedAt(changedAt);
+        task.setSyncStatus(Task.SyncStatus.SYNCED);
+        task.setSyncBase(payloadCodec.encode(remote));
+        return task;
+    }
+}
@@ -0,0 +1,173 @@
+package com.personal.task.project.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Circuit breaker around every call to the sync server, fed by the sync
+ * traffic itself rather than a separate health probe.
+ *
+ * CLOSED     calls go through; {@code failure-threshold} consecutive
+ *            failures (I/O errors, timeouts, 5xx) open the circuit.
+ * OPEN       calls fail fast with {@link CircuitOpenException} until
+ *            {@code open-duration} has passed.
+ * HALF_OPEN  up to {@code half-open-probes} real calls are let through;
+ *            a success closes the circuit, a failure reopens it.
+ *
+ * 4xx responses prove the server is up and count as successes.
+ */
+@Component
+public class ServerCircuitBreaker implements ClientHttpRequestInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(ServerCircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final int halfOpenProbes;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private int probesInFlight;
+    private Instant openedAt;
+
+    @Autowired
+    public ServerCircuitBreaker(MeterRegistry meterRegistry,
+                                @Value("${app.sync.circuit.failure-threshold:5}") int failureThreshold,
+                                @Value("${app.sync.circuit.open-duration:30s}") Duration openDuration,
+                                @Value("${app.sync.circuit.half-open-probes:1}") int halfOpenProbes) {
+        this(meterRegistry, failureThreshold, openDuration, halfOpenProbes, Clock.systemUTC());
+    }
+
+    ServerCircuitBreaker(MeterRegistry meterRegistry, int failureThreshold, Duration openDuration,
+                         int halfOpenProbes, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.halfOpenProbes = halfOpenProbes;
+        this.clock = clock;
+        Gauge.builder("sync.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("Sync server circuit: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        if (!tryAcquire()) {
+            throw new CircuitOpenException(request.getMethod() + " " + request.getURI().getPath());
+        }
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            onFailure();
+            throw e;
+        }
+        if (response.getStatusCode().is5xxServerError()) {
+            onFailure();
+        } else {
+            onSuccess();
+        }
+        return response;
+    }
+
+    /**
+     * Whether a call made now would be let through, without taking a probe
+     * slot. The scheduler uses this instead of pinging the server.
+     */
+    public synchronized boolean isCallPermitted() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> cooledDown();
+            case HALF_OPEN -> probesInFlight < halfOpenProbes;
+        };
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    // How long calls keep failing fast; zero unless the circuit is open
+    public synchronized Duration getRemainingOpenTime() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        Duration remaining = Duration.between(clock.instant(), openedAt.plus(openDuration));
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN && cooledDown()) {
+            transition(State.HALF_OPEN);
+            probesInFlight = 0;
+        }
+        switch (state) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (probesInFlight < halfOpenProbes) {
+                    probesInFlight++;
+                    return true;
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN) {
+            transition(State.CLOSED);
+        }
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            openedAt = clock.instant();
+            transition(State.OPEN);
+        }
+    }
+
+    private boolean cooledDown() {
+        return !clock.instant().isBefore(openedAt.plus(openDuration));
+    }
+
+    private void transition(State next) {
+        if (state != next) {
+            log.info("Sync server circuit {} -> {} after {} consecutive failure(s)", state, next, consecutiveFailures);
+            state = next;
+        }
+    }
+
+    /**
+     * Thrown instead of making a call while the circuit is open. Nothing was
+     * sent, so callers treat the op as not attempted.
+     */
+    public static class CircuitOpenException extends ResourceAccessException {
+
+        public CircuitOpenException(String call) {
+            super("Sync server circuit is open, not sending " + call);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.personal.task.project.service;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class ServerWinsStrategy implements ConflictStrategy {
+
+    @Override
+    public String getName() {
+        return "server-wins";
+    }
+
+    @Override
+    public Object resolve(FieldConflict conflict) {
+        return conflict.remote();
+    }
+}
@@ -0,0 +1,236 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.dto.CompactionReport;
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.repository.SyncRepo;
+import com.personal.task.project.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.ToIntFunction;
+
+/**
+ * Garbage collection for the database, every {@code app.compaction.interval-ms}:
+ *
+ * SUCCESS outbox ops older than {@code success-retention} are deleted. FAILED
+ * ops stay until they are requeued.
+ *
+ * Tombstones whose delete reached the server more than {@code tombstone-grace}
+ * ago are deleted with their finished ops. The same transaction moves the
+ * change feed's purge horizon past them, so a client still holding an older
+ * cursor gets 410 rather than silently missing the deletes.
+ *
+ * Deletes run {@code batch-size} rows per transaction with {@code batch-pause}
+ * between them, so local writes never wait long for the SQLite write lock.
+ * Freed pages then go back to the file system through incremental vacuum.
+ * A database still in auto_vacuum=NONE keeps its freed pages for reuse: the
+ * switch takes a full VACUUM, which rewrites the file under the write lock,
+ * so it only runs with {@code convert-auto-vacuum} set. Otherwise it is
+ * logged once and skipped.
+ */
+@Component
+public class StorageCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageCompactor.class);
+
+    private static final int INCREMENTAL = 2;
+
+    private final SyncRepo syncRepo;
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskVersionTracker versionTracker;
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final Duration successRetention;
+    private final Duration tombstoneGrace;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final int vacuumPages;
+    private final boolean convertAutoVacuum;
+    private final Counter opsDeleted;
+    private final Counter tombstonesPurged;
+    private final Counter bytesReclaimed;
+
+    private volatile CompactionReport lastReport;
+    private volatile boolean conversionTried;
+
+    public StorageCompactor(SyncRepo syncRepo,
+                            TaskRepository taskRepository,
+                            TransactionTemplate transactionTemplate,
+                            TaskVersionTracker versionTracker,
+                            DataSource dataSource,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.compaction.enabled:true}") boolean enabled,
+                            @Value("${app.compaction.success-retention:7d}") Duration successRetention,
+                            @Value("${app.compaction.tombstone-grace:30d}") Duration tombstoneGrace,
+                            @Value("${app.compaction.batch-size:500}") int batchSize,
+                            @Value("${app.compaction.batch-pause:20ms}") Duration batchPause,
+                            @Value("${app.compaction.vacuum-pages:2000}") int vacuumPages,
+                            @Value("${app.compaction.convert-auto-vacuum:false}") boolean convertAutoVacuum) {
+        this.syncRepo = syncRepo;
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.versionTracker = versionTracker;
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.successRetention = successRetention;
+        this.tombstoneGrace = tombstoneGrace;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.vacuumPages = vacuumPages;
+        this.convertAutoVacuum = convertAutoVacuum;
+        this.opsDeleted = Counter.builder("storage.compaction.rows")
+                .description("Rows deleted by storage compaction")
+                .tag("table", "sync_operations")
+                .register(meterRegistry);
+        this.tombstonesPurged = Counter.builder("storage.compaction.rows")
+                .description("Rows deleted by storage compaction")
+                .tag("table", "tasks")
+                .register(meterRegistry);
+        this.bytesReclaimed = Counter.builder("storage.compaction.reclaimed")
+                .description("Bytes the database file shrank by after compaction")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.compaction.interval-ms:3600000}",
+               initialDelayString = "${app.compaction.initial-delay-ms:600000}")
+    public void scheduledCompaction() {
+        if (enabled) {
+            compact();
+        }
+    }
+
+    public CompactionReport compact() {
+        return compact(LocalDateTime.now());
+    }
+
+    // One run at a time; a second caller waits and then runs with nothing much left to do
+    public synchronized CompactionReport compact(LocalDateTime now) {
+        long start = System.nanoTime();
+        Totals totals = new Totals();
+
+        inBatches(totals, t -> deleteSucceededOps(t, now.minus(successRetention)));
+        inBatches(totals, t -> purgeTombstones(t, now.minus(tombstoneGrace)));
+        long[] vacuum = vacuum();
+
+        CompactionReport report = new CompactionReport(now, (System.nanoTime() - start) / 1_000_000,
+                totals.syncOps, totals.tombstones, vacuum[0], vacuum[1]);
+        opsDeleted.increment(report.syncOps());
+        tombstonesPurged.increment(report.tombstones());
+        bytesReclaimed.increment(report.bytesReclaimed());
+        lastReport = report;
+        log.info("Compaction removed {} sync ops and {} tombstones, reclaimed {} bytes in {} ms",
+                report.syncOps(), report.tombstones(), report.bytesReclaimed(), report.durationMillis());
+        return report;
+    }
+
+    public Optional<CompactionReport> getLastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    // Each batch is its own transaction; a short batch means nothing is left
+    private void inBatches(Totals totals, ToIntFunction<Totals> batch) {
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> batch.applyAsInt(totals));
+            if (deleted == null || deleted < batchSize) {
+                return;
+            }
+            try {
+                Thread.sleep(batchPause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private int deleteSucceededOps(Totals totals, LocalDateTime cutoff) {
+        List<Long> ids = syncRepo.findIdsCreatedBefore(SyncOps.Status.SUCCESS, cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int deleted = syncRepo.deleteByIdInAndStatus(ids, SyncOps.Status.SUCCESS);
+        totals.syncOps += deleted;
+        return deleted;
+    }
+
+    private int purgeTombstones(Totals totals, LocalDateTime cutoff) {
+        List<Long> ids = taskRepository.findPurgeableTombstones(cutoff, Task.SyncStatus.SYNCED,
+                SyncOps.Status.SUCCESS, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        taskRepository.raisePurgedChangeSeq(taskRepository.findMaxChangeSeq(ids));
+        totals.syncOps += syncRepo.deleteByTaskIdIn(ids);
+        int deleted = taskRepository.deleteTombstones(ids, Task.SyncStatus.SYNCED);
+        totals.tombstones += deleted;
+        versionTracker.markChanged(ids);
+        return deleted;
+    }
+
+    // {bytes reclaimed, file size}. Outside any transaction: VACUUM refuses to run in one
+    private long[] vacuum() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            long pageSize = pragma(statement, "page_size");
+            if (pragma(statement, "auto_vacuum") != INCREMENTAL) {
+                if (conversionTried) {
+                    return new long[] {0, pragma(statement, "page_count") * pageSize};
+                }
+                conversionTried = true;
+                if (!convertAutoVacuum) {
+                    log.warn("auto_vacuum is not INCREMENTAL, so freed pages stay in the file; set "
+                            + "app.compaction.convert-auto-vacuum=true to convert it with one full VACUUM");
+                    return new long[] {0, pragma(statement, "page_count") * pageSize};
+                }
+                log.info("Switching the database to incremental auto-vacuum; rewriting it once");
+                statement.execute("PRAGMA auto_vacuum = INCREMENTAL");
+                statement.execute("VACUUM");
+            }
+            long before = pragma(statement, "page_count");
+            // Each step of the pragma frees one page, so drain it
+            if (statement.execute("PRAGMA incremental_vacuum(" + vacuumPages + ")")) {
+                try (ResultSet rs = statement.getResultSet()) {
+                    while (rs.next()) {
+                        // keep stepping
+                    }
+                }
+            }
+            long after = pragma(statement, "page_count");
+            return new long[] {(before - after) * pageSize, after * pageSize};
+        } catch (SQLException e) {
+            log.warn("Incremental vacuum failed: {}", e.getMessage());
+            return new long[] {0, 0};
+        }
+    }
+
+    private static long pragma(Statement statement, String name) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("PRAGMA " + name)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private static final class Totals {
+
+        private long syncOps;
+        private long tombstones;
+    }
+}
@@ -0,0 +1,103 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.entity.SyncOps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Dispatches sync operations concurrently on virtual threads.
+ *
+ * Ops are grouped into one chain per task. A chain is sent strictly in
+ * createdAt order, while chains for different tasks run in parallel. At most
+ * {@code app.sync.max-in-flight} ops are on the wire at any moment. When an op
+ * in a chain fails, the rest of that chain is skipped so a later UPDATE or
+ * DELETE never overtakes the op it depends on.
+ */
+@Component
+public class SyncEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncEngine.class);
+
+    private final int maxInFlight;
+
+    public SyncEngine(@Value("${app.sync.max-in-flight:16}") int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("app.sync.max-in-flight must be at least 1");
+        }
+        this.maxInFlight = maxInFlight;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public List<SyncOutcome> dispatch(List<SyncOps> ops, Function<SyncOps, SyncOutcome> sender) {
+        Map<Long, List<SyncOps>> chains = new LinkedHashMap<>();
+        for (SyncOps op : ops) {
+            chains.computeIfAbsent(op.getTaskId(), id -> new ArrayList<>()).add(op);
+        }
+
+        List<SyncOutcome> outcomes = Collections.synchronizedList(new ArrayList<>(ops.size()));
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        // close() waits for every submitted chain to finish
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (List<SyncOps> chain : chains.values()) {
+                chain.sort(Comparator.comparing(SyncOps::getCreatedAt,
+                        Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(SyncOps::getId, Comparator.nullsFirst(Comparator.naturalOrder())));
+                executor.submit(() -> runChain(chain, sender, inFlight, outcomes));
+            }
+        }
+
+        return outcomes;
+    }
+
+    private void runChain(List<SyncOps> chain, Function<SyncOps, SyncOutcome> sender,
+                          Semaphore inFlight, List<SyncOutcome> outcomes) {
+        boolean blocked = false;
+
+        for (SyncOps op : chain) {
+            if (blocked) {
+                outcomes.add(SyncOutcome.skipped(op));
+                continue;
+            }
+
+            SyncOutcome outcome;
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                outcomes.add(SyncOutcome.skipped(op));
+                blocked = true;
+                continue;
+            }
+            try {
+                outcome = sender.apply(op);
+            } catch (Exception e) {
+                log.warn("Sync operation {} failed: {}", op.getId(), e.getMessage());
+                outcome = SyncOutcome.failed(op, e);
+            } finally {
+                inFlight.release();
+            }
+
+            outcomes.add(outcome);
+            if (!outcome.isSuccess()) {
+                blocked = true;
+            }
+        }
+    }
+}
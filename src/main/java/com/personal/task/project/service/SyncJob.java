@@ -0,0 +1,103 @@
+package com.personal.task.project.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One sync run as seen by {@code GET /api/sync/jobs/{id}}. Counters are
+ * updated while the run is in progress.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SyncJob implements SyncProgress {
+
+    public enum State {
+        RUNNING, SUCCEEDED, FAILED
+    }
+
+    private final UUID id = UUID.randomUUID();
+    private final String source;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final AtomicInteger pulled = new AtomicInteger();
+    private final AtomicInteger processed = new AtomicInteger();
+    private final CompletableFuture<SyncJob> completion = new CompletableFuture<>();
+    private volatile State state = State.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    SyncJob(String source) {
+        this.source = source;
+    }
+
+    @Override
+    public void pulled(int changes) {
+        pulled.addAndGet(changes);
+    }
+
+    @Override
+    public void processed(int ops) {
+        processed.addAndGet(ops);
+    }
+
+    void succeeded() {
+        finish(State.SUCCEEDED, null);
+    }
+
+    void failed(Throwable e) {
+        finish(State.FAILED, e.getMessage());
+    }
+
+    private void finish(State state, String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.state = state;
+        completion.complete(this);
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    // manual, scheduled or trigger
+    public String getSource() {
+        return source;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public int getPulled() {
+        return pulled.get();
+    }
+
+    public int getProcessed() {
+        return processed.get();
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @JsonIgnore
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    @JsonIgnore
+    public CompletableFuture<SyncJob> getCompletion() {
+        return completion;
+    }
+}
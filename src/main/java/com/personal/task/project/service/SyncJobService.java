@@ -0,0 +1,116 @@
+package com.personal.task.project.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Single entry point for sync runs: the manual trigger, {@link SyncTrigger}
+ * and the fallback sweep all come through here.
+ *
+ * Runs are single-flight within this process. Submitting while a run is in
+ * progress returns that run's job instead of starting a second one; other
+ * processes sharing the database coordinate through outbox leases (see
+ * {@link SyncService#syncWithServer()}). Finished jobs are kept for lookup, the most recent
+ * {@code app.sync.jobs.history} of them.
+ */
+@Service
+public class SyncJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncJobService.class);
+
+    private final SyncService syncService;
+    private final ServerCircuitBreaker circuitBreaker;
+    private final Map<UUID, SyncJob> jobs;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private SyncJob current;
+
+    public SyncJobService(SyncService syncService,
+                          ServerCircuitBreaker circuitBreaker,
+                          @Value("${app.sync.jobs.history:100}") int history) {
+        this.syncService = syncService;
+        this.circuitBreaker = circuitBreaker;
+        this.jobs = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, SyncJob> eldest) {
+                return size() > history;
+            }
+        };
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    /**
+     * Starts a run in the background, or joins the one already in progress.
+     */
+    public synchronized SyncJob submit(String source) {
+        if (current != null && !current.isDone()) {
+            return current;
+        }
+        SyncJob job = new SyncJob(source);
+        jobs.put(job.getId(), job);
+        current = job;
+        executor.execute(() -> run(job));
+        return job;
+    }
+
+    public synchronized Optional<SyncJob> getJob(UUID id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    // Fallback sweep; local writes are pushed by SyncTrigger. It still pulls server changes
+    @Scheduled(fixedDelayString = "${app.sync.interval-ms:300000}", initialDelayString = "${app.sync.initial-delay-ms:0}")
+    public void scheduledSync() {
+        runIfReachable("scheduled");
+    }
+
+    /**
+     * Runs a sync and waits for it, unless the circuit breaker is open.
+     * Reachability comes from its view of real traffic; once the open period
+     * is over, this run's first request is the probe.
+     *
+     * A run that was already under way may have paged past ops committed
+     * since, so after waiting for it a fresh run is started.
+     *
+     * @return false if the run was skipped
+     */
+    public boolean runIfReachable(String source) {
+        if (!circuitBreaker.isCallPermitted()) {
+            log.debug("Sync server circuit is open, skipping sync");
+            return false;
+        }
+        LocalDateTime calledAt = LocalDateTime.now();
+        SyncJob job = submit(source);
+        if (job.getStartedAt().isBefore(calledAt)) {
+            job.getCompletion().join();
+            job = submit(source);
+        }
+        job.getCompletion().join();
+        return true;
+    }
+
+    private void run(SyncJob job) {
+        try {
+            syncService.syncWithServer(job);
+            job.succeeded();
+        } catch (RuntimeException e) {
+            log.error("Sync job {} failed", job.getId(), e);
+            job.failed(e);
+        }
+    }
+}
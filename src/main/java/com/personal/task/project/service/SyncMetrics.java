@@ -0,0 +1,109 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.repository.SyncRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Meters for the sync pipeline:
+ *
+ * sync.outbox.depth{status}        outbox rows per status, a COUNT on each scrape
+ * sync.op.latency{type,result}     one op on the wire, per-op mode
+ * sync.bulk.latency{result}        one bulk request
+ * sync.batch.duration              one outbox page: prepare, send, write back
+ * sync.run.duration                one whole syncWithServer run, pull included
+ * sync.op.retries{type}            failed attempts that will be retried
+ * sync.op.failures{type,reason}    dead-lettered ops, reason permanent or exhausted
+ * sync.conflicts                   fields resolved by the conflict strategy
+ *
+ * HTTP client and server timings come from Spring Boot's own
+ * http.client.requests and http.server.requests meters.
+ */
+@Component
+public class SyncMetrics {
+
+    private final MeterRegistry registry;
+    private final Timer batchDuration;
+    private final Timer runDuration;
+    private final Counter conflicts;
+
+    private volatile LocalDateTime lastRunAt;
+    private volatile long lastRunMillis;
+
+    public SyncMetrics(MeterRegistry registry, SyncRepo syncRepo) {
+        this.registry = registry;
+        for (SyncOps.Status status : SyncOps.Status.values()) {
+            Gauge.builder("sync.outbox.depth", syncRepo, repo -> repo.countByStatus(status))
+                    .description("Outbox rows by status")
+                    .tag("status", status.name())
+                    .register(registry);
+        }
+        this.batchDuration = Timer.builder("sync.batch.duration")
+                .description("Time to sync one page of the outbox")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.runDuration = Timer.builder("sync.run.duration")
+                .description("Time for a full sync run, pull included")
+                .register(registry);
+        this.conflicts = Counter.builder("sync.conflicts")
+                .description("Fields edited on both sides and resolved by the conflict strategy")
+                .register(registry);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public void recordOp(Timer.Sample sample, SyncOps.OperationType type, SyncOutcome outcome) {
+        sample.stop(Timer.builder("sync.op.latency")
+                .description("Time to send one sync op")
+                .tag("type", type.name())
+                .tag("result", outcome.getResult().name())
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    public void recordBulk(Timer.Sample sample, boolean success) {
+        sample.stop(Timer.builder("sync.bulk.latency")
+                .description("Time to send one bulk sync request")
+                .tag("result", success ? "SUCCESS" : "FAILED")
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    public void recordBatch(Timer.Sample sample) {
+        sample.stop(batchDuration);
+    }
+
+    public void recordRun(Timer.Sample sample) {
+        lastRunMillis = Duration.ofNanos(sample.stop(runDuration)).toMillis();
+        lastRunAt = LocalDateTime.now();
+    }
+
+    public void retried(SyncOps.OperationType type) {
+        registry.counter("sync.op.retries", "type", type.name()).increment();
+    }
+
+    public void failed(SyncOps.OperationType type, String reason) {
+        registry.counter("sync.op.failures", "type", type.name(), "reason", reason).increment();
+    }
+
+    public void conflicts(int count) {
+        conflicts.increment(count);
+    }
+
+    public LocalDateTime getLastRunAt() {
+        return lastRunAt;
+    }
+
+    public long getLastRunMillis() {
+        return lastRunMillis;
+    }
+}
@@ -0,0 +1,8 @@
+package com.personal.task.project.service;
+
+/**
+ * Published when an op is added to (or put back in) the outbox. Listeners
+ * see it after the enqueueing transaction commits.
+ */
+public record SyncOpQueuedEvent(Long taskId) {
+}
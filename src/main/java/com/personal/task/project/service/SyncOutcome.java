@@ -0,0 +1,92 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.entity.SyncOps;
+
+import java.time.LocalDateTime;
+
+/**
+ * Result of pushing a single {@link SyncOps} to the server. Outcomes are
+ * produced on the dispatch threads and applied to the database afterwards
+ * on the calling thread.
+ */
+public final class SyncOutcome {
+
+    public enum Result {
+        SUCCESS, FAILED, SKIPPED
+    }
+
+    private final SyncOps syncOp;
+    private final Result result;
+    private final String serverId;
+    private final LocalDateTime serverUpdatedAt;
+    private final boolean retryable;
+    private final String error;
+
+    private SyncOutcome(SyncOps syncOp, Result result, String serverId, LocalDateTime serverUpdatedAt,
+                        boolean retryable, String error) {
+        this.syncOp = syncOp;
+        this.result = result;
+        this.serverId = serverId;
+        this.serverUpdatedAt = serverUpdatedAt;
+        this.retryable = retryable;
+        this.error = error;
+    }
+
+    public static SyncOutcome success(SyncOps syncOp, String serverId) {
+        return new SyncOutcome(syncOp, Result.SUCCESS, serverId, null, false, null);
+    }
+
+    public static SyncOutcome success(SyncOps syncOp, String serverId, LocalDateTime serverUpdatedAt) {
+        return new SyncOutcome(syncOp, Result.SUCCESS, serverId, serverUpdatedAt, false, null);
+    }
+
+    public static SyncOutcome failed(SyncOps syncOp) {
+        return new SyncOutcome(syncOp, Result.FAILED, null, null, true, null);
+    }
+
+    // A call the circuit breaker refused never reached the server, so it costs no retry
+    public static SyncOutcome failed(SyncOps syncOp, Throwable error) {
+        if (error instanceof ServerCircuitBreaker.CircuitOpenException) {
+            return skipped(syncOp);
+        }
+        return new SyncOutcome(syncOp, Result.FAILED, null, null, SyncRetryPolicy.isRetryable(error), error.getMessage());
+    }
+
+    // The server understood the op and refused it; sending it again will not help
+    public static SyncOutcome rejected(SyncOps syncOp, String error) {
+        return new SyncOutcome(syncOp, Result.FAILED, null, null, false, error);
+    }
+
+    // Not attempted because an earlier op for the same task did not go through
+    public static SyncOutcome skipped(SyncOps syncOp) {
+        return new SyncOutcome(syncOp, Result.SKIPPED, null, null, false, null);
+    }
+
+    public SyncOps getSyncOp() {
+        return syncOp;
+    }
+
+    public Result getResult() {
+        return result;
+    }
+
+    public String getServerId() {
+        return serverId;
+    }
+
+    public LocalDateTime getServerUpdatedAt() {
+        return serverUpdatedAt;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return result == Result.SUCCESS;
+    }
+}
@@ -0,0 +1,16 @@
+package com.personal.task.project.service;
+
+/**
+ * Receives counts from a running sync as they happen.
+ */
+public interface SyncProgress {
+
+    SyncProgress NONE = new SyncProgress() {
+    };
+
+    default void pulled(int changes) {
+    }
+
+    default void processed(int ops) {
+    }
+}
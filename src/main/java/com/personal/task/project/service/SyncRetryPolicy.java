@@ -0,0 +1,61 @@
+package com.personal.task.project.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether a failed op is worth another attempt and when.
+ *
+ * 5xx, 408, 425 and 429 responses and I/O errors (timeouts, refused
+ * connections) are transient. Any other 4xx means the server will keep
+ * rejecting the payload, so the op is dead-lettered straight away.
+ *
+ * Retries back off exponentially from {@code app.sync.retry.base-delay},
+ * capped at {@code max-delay}, with "equal jitter": the wait is drawn
+ * uniformly from the upper half of the window, so replicas that failed
+ * together do not come back together.
+ */
+@Component
+public class SyncRetryPolicy {
+
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+
+    public SyncRetryPolicy(@Value("${app.sync.retry.base-delay:5s}") Duration baseDelay,
+                           @Value("${app.sync.retry.max-delay:10m}") Duration maxDelay) {
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+    }
+
+    public static boolean isRetryable(Throwable error) {
+        if (error instanceof HttpStatusCodeException http) {
+            return isRetryable(http.getStatusCode());
+        }
+        // ResourceAccessException covers timeouts, resets and refused connections. Anything
+        // unexpected is retried too, bounded by max-retries
+        return true;
+    }
+
+    public static boolean isRetryable(HttpStatusCode status) {
+        int code = status.value();
+        return status.is5xxServerError() || code == 408 || code == 425 || code == 429;
+    }
+
+    /**
+     * Wait before the given attempt, 1 being the first retry.
+     */
+    public Duration backoff(int attempt) {
+        long cap = maxDelay.toMillis();
+        long window = baseDelay.toMillis() << Math.min(Math.max(attempt - 1, 0), 30);
+        if (window <= 0 || window > cap) {
+            window = cap;
+        }
+        long half = window / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(window - half + 1));
+    }
+}
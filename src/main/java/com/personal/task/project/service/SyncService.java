@@ -1,36 +1,82 @@
 package com.personal.task.project.service;
 
+import com.personal.task.project.dto.BulkSyncRequest;
+import com.personal.task.project.dto.BulkSyncResponse;
+import com.personal.task.project.dto.SyncStatus;
 import com.personal.task.project.entity.SyncOps;
 import com.personal.task.project.entity.Task;
+import com.personal.task.project.repository.SyncConflictRepository;
 import com.personal.task.project.repository.SyncRepo;
 import com.personal.task.project.repository.TaskRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.*;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
 public class SyncService {
 
+    private static final Logger log = LoggerFactory.getLogger(SyncService.class);
+
+    // Ops a task is still waiting on; it only turns SYNCED once it has none
+    private static final List<SyncOps.Status> UNFINISHED = List.of(SyncOps.Status.PENDING, SyncOps.Status.IN_FLIGHT);
+
     @Autowired
     private SyncRepo syncRepo;
     
     @Autowired
     private TaskRepository taskRepository;
     
-    @Autowired
-    private ObjectMapper objectMapper;
-    
     @Autowired
     private RestTemplate restTemplate;
+
+    @Autowired
+    private SyncEngine syncEngine;
+
+    @Autowired
+    private OutboxCompactor outboxCompactor;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskVersionTracker versionTracker;
+
+    @Autowired
+    private ServerChangePuller serverChangePuller;
+
+    @Autowired
+    private SyncConflictRepository conflictRepository;
+
+    @Autowired
+    private SyncMetrics metrics;
+
+    @Autowired
+    private SyncRetryPolicy retryPolicy;
+
+    @Autowired
+    private ServerCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     @Value("${app.sync.batch-size:50}")
     private int batchSize;
@@ -41,251 +87,489 @@ public class SyncService {
     @Value("${app.sync.server-url:http://localhost:8081/api}")
     private String serverUrl;
 
-    @Transactional
+    // "per-op" sends one request per op, "bulk" sends each batch to /tasks/bulk
+    @Value("${app.sync.mode:per-op}")
+    private String syncMode;
+
+    // Must comfortably exceed the time to send one batch, or a slow worker's ops get sent twice
+    @Value("${app.sync.lease-duration:5m}")
+    private Duration leaseDuration;
+
+    /**
+     * Drains the outbox page by page using a (createdAt, id) keyset cursor.
+     * Only one page is held in memory at a time, and every page commits in
+     * its own short transactions, so no write lock is held while requests
+     * are on the wire.
+     *
+     * Server-side changes are pulled first, so tasks with unpushed edits are
+     * merged with the server's version before their ops go out.
+     *
+     * Only ops that are due are loaded: a failed op waits out its backoff
+     * ({@link SyncRetryPolicy}), and so do the later ops of its task.
+     *
+     * Several workers, in one process or many sharing the database, can drain
+     * the outbox at once: each page is leased (PENDING -> IN_FLIGHT) in one
+     * atomic update before it is sent, so among live workers every op is sent
+     * exactly once and a task's ops stay in order. A worker that dies leaves
+     * its ops IN_FLIGHT until {@code app.sync.lease-duration} passes; the next
+     * run puts them back to PENDING and they are sent again (at least once).
+     */
     public void syncWithServer() {
-        System.out.println("Starting sync process...");
+        syncWithServer(SyncProgress.NONE);
+    }
 
-        List<SyncOps> pendingOps = syncRepo.findByStatus(SyncOps.Status.PENDING);
-        
-        if (pendingOps.isEmpty()) {
-            System.out.println("No pending sync operations");
+    public void syncWithServer(SyncProgress progress) {
+        Timer.Sample run = metrics.start();
+        String owner = UUID.randomUUID().toString();
+        log.debug("Starting sync {}", owner);
+
+        int pulled = serverChangePuller.pull();
+        progress.pulled(pulled);
+
+        // Ops queued after this point wait for the next run instead of extending this one
+        LocalDateTime startedAt = LocalDateTime.now();
+        recoverExpiredLeases(startedAt);
+
+        // Tasks with an op that did not go through; their later ops must wait for the next run
+        Set<Long> blockedTasks = new HashSet<>();
+
+        SyncOps cursor = null;
+        int processed = 0;
+
+        // A server that went away mid-run leaves the rest of the backlog for a later run
+        while (circuitBreaker.isCallPermitted()) {
+            List<SyncOps> page = loadPage(cursor, startedAt);
+            if (page.isEmpty()) {
+                break;
+            }
+
+            cursor = page.get(page.size() - 1);
+            processed += page.size();
+            processPage(page, blockedTasks, owner);
+            progress.processed(page.size());
+
+            if (page.size() < batchSize || cursor.getCreatedAt().isAfter(startedAt)) {
+                break;
+            }
+        }
+
+        metrics.recordRun(run);
+        if (pulled > 0 || processed > 0) {
+            log.atInfo().addKeyValue("pulled", pulled).addKeyValue("processed", processed)
+                    .addKeyValue("durationMs", metrics.getLastRunMillis())
+                    .log("Sync finished: {} server changes applied, {} outbox ops processed", pulled, processed);
+        } else {
+            log.debug("Sync finished, nothing to do");
+        }
+    }
+
+    private List<SyncOps> loadPage(SyncOps cursor, LocalDateTime now) {
+        PageRequest page = PageRequest.of(0, batchSize);
+        if (cursor == null) {
+            return syncRepo.findDue(SyncOps.Status.PENDING, now, page);
+        }
+        return syncRepo.findDueAfter(SyncOps.Status.PENDING, now, cursor.getCreatedAt(), cursor.getId(), page);
+    }
+
+    private void processPage(List<SyncOps> page, Set<Long> blockedTasks, String owner) {
+        List<SyncOps> ready = new ArrayList<>(page.size());
+        for (SyncOps syncOp : page) {
+            if (!blockedTasks.contains(syncOp.getTaskId())) {
+                ready.add(syncOp);
+            }
+        }
+        if (ready.isEmpty()) {
             return;
         }
-        
-        System.out.println("Found " + pendingOps.size() + " pending operations");
 
-        for (int i = 0; i < pendingOps.size(); i += batchSize) {
-            int endIndex = Math.min(i + batchSize, pendingOps.size());
-            List<SyncOps> batch = pendingOps.subList(i, endIndex);
-            processBatch(batch);
+        Timer.Sample batch = metrics.start();
+        Map<Long, Task> tasks = new HashMap<>();
+        List<SyncOps> toSend = transactionTemplate.execute(status -> prepareBatch(ready, tasks, owner));
+        if (toSend == null || toSend.isEmpty()) {
+            metrics.recordBatch(batch);
+            return;
+        }
+
+        log.debug("Sending batch of {} operations", toSend.size());
+
+        // HTTP calls run outside any transaction; results are written back in one short one
+        List<SyncOutcome> outcomes;
+        try {
+            outcomes = "bulk".equalsIgnoreCase(syncMode)
+                    ? processBulk(toSend, tasks)
+                    : syncEngine.dispatch(toSend, syncOp -> timedSend(syncOp, tasks.get(syncOp.getTaskId())));
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status ->
+                    syncRepo.release(toSend.stream().map(SyncOps::getId).toList(), owner, SyncOps.Status.PENDING));
+            throw e;
         }
+
+        transactionTemplate.executeWithoutResult(status -> applyOutcomes(outcomes, blockedTasks, owner));
+        metrics.recordBatch(batch);
     }
 
-    private void processBatch(List<SyncOps> batch) {
-        System.out.println("Processing batch of " + batch.size() + " operations");
-        
+    private SyncOutcome timedSend(SyncOps syncOp, Task localTask) {
+        Timer.Sample sample = metrics.start();
+        SyncOutcome outcome = processSingleOperation(syncOp, localTask);
+        metrics.recordOp(sample, syncOp.getOperationType(), outcome);
+        return outcome;
+    }
+
+    private List<SyncOps> prepareBatch(List<SyncOps> candidates, Map<Long, Task> tasks, String owner) {
+        List<SyncOps> batch = claim(candidates, owner);
+        if (batch.isEmpty()) {
+            return batch;
+        }
+
+        Set<Long> taskIds = new HashSet<>();
+        batch.forEach(syncOp -> taskIds.add(syncOp.getTaskId()));
+        for (Task task : taskRepository.findAllById(taskIds)) {
+            tasks.put(task.getId(), task);
+        }
+
+        Map<Long, Long> versions = new HashMap<>();
+        tasks.forEach((id, task) -> versions.put(id, task.getVersion()));
+        List<SyncOps> toSend = outboxCompactor.compact(batch, versions);
+
+        // Created and deleted offline: nothing left to tell the server. Tasks whose op was
+        // only superseded still have a newer one pending and keep their status
+        toSend.forEach(syncOp -> taskIds.remove(syncOp.getTaskId()));
+        if (!taskIds.isEmpty()
+                && taskRepository.markSyncedIfNothingPending(taskIds, UNFINISHED, Task.SyncStatus.SYNCED) > 0) {
+            versionTracker.markChanged(taskIds);
+        }
+
+        return toSend;
+    }
+
+    // Another worker may have leased some rows between our read and our claim; only the rest are ours
+    private List<SyncOps> claim(List<SyncOps> candidates, String owner) {
+        List<Long> ids = candidates.stream().map(SyncOps::getId).toList();
+        int claimed = syncRepo.claim(ids, owner, LocalDateTime.now().plus(leaseDuration),
+                SyncOps.Status.PENDING, SyncOps.Status.IN_FLIGHT);
+        if (claimed == candidates.size()) {
+            return candidates;
+        }
+        if (claimed == 0) {
+            return List.of();
+        }
+        Set<Long> ours = new HashSet<>(syncRepo.findClaimedIds(ids, owner));
+        return candidates.stream().filter(syncOp -> ours.contains(syncOp.getId())).toList();
+    }
+
+    private void applyOutcomes(List<SyncOutcome> outcomes, Set<Long> blockedTasks, String owner) {
+        // Targeted updates only: each op row and each task row is written once, nothing is
+        // reloaded, and task edits made while requests were in flight are left untouched
+        List<Long> succeeded = new ArrayList<>();
+        List<Long> skipped = new ArrayList<>();
+        Map<Long, SyncOutcome> syncedTasks = new LinkedHashMap<>();
+        // The newest op that went through per task is what the server now holds: the next merge base
+        Map<Long, SyncOps> lastSent = new HashMap<>();
+
+        for (SyncOutcome outcome : outcomes) {
+            SyncOps syncOp = outcome.getSyncOp();
+            switch (outcome.getResult()) {
+                case SUCCESS:
+                    succeeded.add(syncOp.getId());
+                    // Keep the CREATE's server id if a later op for the same task also went through
+                    syncedTasks.merge(syncOp.getTaskId(), outcome,
+                            (earlier, later) -> later.getServerId() == null && earlier.getServerId() != null ? earlier : later);
+                    lastSent.merge(syncOp.getTaskId(), syncOp, (a, b) -> a.getId() > b.getId() ? a : b);
+                    log.debug("Synced operation {}", syncOp.getId());
+                    break;
+                case FAILED:
+                    handleSyncFailure(outcome, owner);
+                    blockedTasks.add(syncOp.getTaskId());
+                    break;
+                case SKIPPED:
+                    skipped.add(syncOp.getId());
+                    blockedTasks.add(syncOp.getTaskId());
+                    break;
+            }
+        }
+
+        // Fenced on the lease: if ours expired and another worker took the op over, its result stands
+        if (!succeeded.isEmpty()) {
+            int completed = syncRepo.complete(succeeded, owner, SyncOps.Status.SUCCESS);
+            if (completed < succeeded.size()) {
+                log.warn("Lost the lease on {} of {} sent operations; sync run {} outlived app.sync.lease-duration",
+                        succeeded.size() - completed, succeeded.size(), owner);
+            }
+        }
+        if (!skipped.isEmpty()) {
+            syncRepo.release(skipped, owner, SyncOps.Status.PENDING);
+        }
+        // Runs after the ops are marked so a task only turns SYNCED once nothing is pending for it
+        syncedTasks.forEach((taskId, outcome) -> markTaskSynced(taskId, outcome.getServerId(),
+                outcome.getServerUpdatedAt(), lastSent.get(taskId).getTaskData()));
+        if (!syncedTasks.isEmpty()) {
+            versionTracker.markChanged(List.copyOf(syncedTasks.keySet()));
+        }
+    }
+
+    private List<SyncOutcome> processBulk(List<SyncOps> batch, Map<Long, Task> tasks) {
+        List<SyncOutcome> outcomes = new ArrayList<>(batch.size());
+        Map<Long, SyncOps> sent = new LinkedHashMap<>();
+        BulkSyncRequest request = new BulkSyncRequest();
+
         for (SyncOps syncOp : batch) {
-            try {
-                boolean success = processSingleOperation(syncOp);
-                
-                if (success) {
-                    syncOp.setStatus(SyncOps.Status.SUCCESS);
-                    updateTaskSyncStatus(syncOp.getTaskId(), Task.SyncStatus.SYNCED);
-                    System.out.println("Successfully done: " + syncOp.getId());
-                } else {
-                    handleSyncFailure(syncOp);
+            Task task = tasks.get(syncOp.getTaskId());
+            if (syncOp.getOperationType() == SyncOps.OperationType.DELETE && task == null) {
+                outcomes.add(SyncOutcome.success(syncOp, null)); // Already deleted, consider success
+                continue;
+            }
+
+            BulkSyncRequest.Op op = new BulkSyncRequest.Op();
+            op.setOpId(syncOp.getId());
+            op.setType(syncOp.getOperationType().name());
+            if (task != null) {
+                op.setClientId(task.getClientId().toString());
+                op.setServerId(task.getServerId());
+            }
+            if (syncOp.getOperationType() != SyncOps.OperationType.DELETE) {
+                op.setTask(syncOp.getTaskData());
+            }
+            request.getOps().add(op);
+            sent.put(syncOp.getId(), syncOp);
+        }
+
+        if (sent.isEmpty()) {
+            return outcomes;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        Timer.Sample sample = metrics.start();
+        try {
+            ResponseEntity<BulkSyncResponse> response = restTemplate.postForEntity(
+                serverUrl + "/tasks/bulk",
+                new HttpEntity<>(request, headers),
+                BulkSyncResponse.class
+            );
+
+            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                metrics.recordBulk(sample, true);
+                for (BulkSyncResponse.Result result : response.getBody().getResults()) {
+                    SyncOps syncOp = sent.remove(result.getOpId());
+                    if (syncOp == null) {
+                        continue;
+                    }
+                    if (result.isAccepted()) {
+                        outcomes.add(SyncOutcome.success(syncOp, result.getServerId(), result.getUpdatedAt()));
+                    } else {
+                        log.warn("Server rejected sync operation {}: {}", syncOp.getId(), result.getError());
+                        outcomes.add(SyncOutcome.rejected(syncOp, result.getError()));
+                    }
                 }
-                
-            } catch (Exception e) {
-                System.err.println("Error occured " + syncOp.getId() + ": " + e.getMessage());
-                handleSyncFailure(syncOp);
+                // Ops missing from the response were not applied by the server
+                sent.values().forEach(syncOp -> outcomes.add(SyncOutcome.skipped(syncOp)));
+                return outcomes;
             }
-            
-            syncRepo.save(syncOp);
+        } catch (Exception e) {
+            log.warn("Bulk sync request failed: {}", e.getMessage());
+            metrics.recordBulk(sample, false);
+            sent.values().forEach(syncOp -> outcomes.add(SyncOutcome.failed(syncOp, e)));
+            return outcomes;
         }
+
+        metrics.recordBulk(sample, false);
+        sent.values().forEach(syncOp -> outcomes.add(SyncOutcome.failed(syncOp)));
+        return outcomes;
     }
 
-    private boolean processSingleOperation(SyncOps syncOp) throws Exception {
+    private SyncOutcome processSingleOperation(SyncOps syncOp, Task localTask) {
         String endpoint = serverUrl + "/tasks";
         
-        switch (syncOp.getOperationType()) {
-            case CREATE:
-                return syncCreate(syncOp, endpoint);
-            case UPDATE:
-                return syncUpdate(syncOp, endpoint);
-            case DELETE:
-                return syncDelete(syncOp, endpoint);
-            default:
-                System.err.println("Error operation type: " + syncOp.getOperationType());
-                return false;
+        try {
+            switch (syncOp.getOperationType()) {
+                case CREATE:
+                    return syncCreate(syncOp, endpoint);
+                case UPDATE:
+                    return syncUpdate(syncOp, localTask, endpoint);
+                case DELETE:
+                    return syncDelete(syncOp, localTask, endpoint);
+                default:
+                    log.error("Unknown operation type {} on sync operation {}", syncOp.getOperationType(), syncOp.getId());
+                    return SyncOutcome.failed(syncOp);
+            }
+        } catch (Exception e) {
+            log.warn("Sync operation {} failed: {}", syncOp.getId(), e.getMessage());
+            return SyncOutcome.failed(syncOp, e);
         }
     }
 
-    private boolean syncCreate(SyncOps syncOp, String endpoint) throws Exception {
-        Task task = objectMapper.readValue(syncOp.getTaskData(), Task.class);
-        
+    // The stored payload is already the request body, so it is sent without re-serializing
+    private SyncOutcome syncCreate(SyncOps syncOp, String endpoint) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         
-        HttpEntity<Task> request = new HttpEntity<>(task, headers);
+        HttpEntity<String> request = new HttpEntity<>(syncOp.getTaskData(), headers);
         
         try {
             ResponseEntity<Task> response = restTemplate.postForEntity(endpoint, request, Task.class);
             
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                Optional<Task> localTask = taskRepository.findById(syncOp.getTaskId());
-                if (localTask.isPresent()) {
-                    Task updatedTask = localTask.get();
-                    updatedTask.setServerId(response.getBody().getId().toString());
-                    updatedTask.setLastSyncedAt(LocalDateTime.now());
-                    taskRepository.save(updatedTask);
-                }
-                return true;
+                return SyncOutcome.success(syncOp, response.getBody().getId().toString());
             }
         } catch (Exception e) {
-            System.err.println("Failed to create task on server: " + e.getMessage());
+            log.warn("Failed to create task on server for operation {}: {}", syncOp.getId(), e.getMessage());
+            return SyncOutcome.failed(syncOp, e);
         }
         
-        return false;
+        return SyncOutcome.failed(syncOp);
     }
 
-    private boolean syncUpdate(SyncOps syncOp, String endpoint) throws Exception {
-        Task localTask = objectMapper.readValue(syncOp.getTaskData(), Task.class);
-        
-        // Get current local task for conflict detection
-        Optional<Task> currentLocalTask = taskRepository.findById(syncOp.getTaskId());
-        if (!currentLocalTask.isPresent()) return false;
+    private SyncOutcome syncUpdate(SyncOps syncOp, Task currentLocalTask, String endpoint) {
+        if (currentLocalTask == null) return SyncOutcome.failed(syncOp);
         
-        String taskId = currentLocalTask.get().getServerId() != null ? 
-                        currentLocalTask.get().getServerId() : 
-                        currentLocalTask.get().getId().toString();
-        
-        try {
-            ResponseEntity<Task> getResponse = restTemplate.getForEntity(endpoint + "/" + taskId, Task.class);
-            
-            if (getResponse.getStatusCode().is2xxSuccessful() && getResponse.getBody() != null) {
-                Task serverTask = getResponse.getBody();
-                
-                // Check for conflict - EXACTLY 2 parameters
-                if (hasConflict(currentLocalTask.get(), serverTask)) {
-                    // Log the conflict - EXACTLY 3 parameters
-                    logConflict(currentLocalTask.get(), serverTask, "UPDATE");
-                }
-            }
-        } catch (Exception e) {
-            System.out.println("Could not fetch server version for conflict detection: " + e.getMessage());
-        }
+        String taskId = currentLocalTask.getServerId() != null ? 
+                        currentLocalTask.getServerId() : 
+                        currentLocalTask.getId().toString();
         
+        // No conflict GET here: the pull before the push already merged server edits into this payload
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<Task> request = new HttpEntity<>(localTask, headers);
+        HttpEntity<String> request = new HttpEntity<>(syncOp.getTaskData(), headers);
         
         try {
+            // Templated so the client metrics carry one uri tag, not one per task
             ResponseEntity<Task> response = restTemplate.exchange(
-                endpoint + "/" + taskId, 
-                HttpMethod.PUT, 
-                request, 
-                Task.class
+                endpoint + "/{id}",
+                HttpMethod.PUT,
+                request,
+                Task.class,
+                taskId
             );
             
             if (response.getStatusCode().is2xxSuccessful()) {
-                Task updatedTask = currentLocalTask.get();
-                updatedTask.setLastSyncedAt(LocalDateTime.now());
-                taskRepository.save(updatedTask);
-                return true;
+                return SyncOutcome.success(syncOp, null);
             }
         } catch (Exception e) {
-            System.err.println("Failed to update task on server: " + e.getMessage());
+            log.warn("Failed to update task {} on server: {}", taskId, e.getMessage());
+            return SyncOutcome.failed(syncOp, e);
         }
         
-        return false;
+        return SyncOutcome.failed(syncOp);
     }
 
-    private boolean syncDelete(SyncOps syncOp, String endpoint) throws Exception {
-        Optional<Task> localTask = taskRepository.findById(syncOp.getTaskId());
-        if (!localTask.isPresent()) return true; // Already deleted, consider success
+    private SyncOutcome syncDelete(SyncOps syncOp, Task localTask, String endpoint) {
+        if (localTask == null) return SyncOutcome.success(syncOp, null); // Already deleted, consider success
         
-        String taskId = localTask.get().getServerId() != null ? 
-                        localTask.get().getServerId() : 
-                        localTask.get().getId().toString();
+        String taskId = localTask.getServerId() != null ? 
+                        localTask.getServerId() : 
+                        localTask.getId().toString();
         
         try {
             ResponseEntity<Void> response = restTemplate.exchange(
-                endpoint + "/" + taskId,
+                endpoint + "/{id}",
                 HttpMethod.DELETE,
                 null,
-                Void.class
+                Void.class,
+                taskId
             );
             
             if (response.getStatusCode().is2xxSuccessful()) {
-                // Update last synced timestamp
-                Task updatedTask = localTask.get();
-                updatedTask.setLastSyncedAt(LocalDateTime.now());
-                taskRepository.save(updatedTask);
-                return true;
+                return SyncOutcome.success(syncOp, null);
             }
         } catch (Exception e) {
-            System.err.println("Failed to delete task on server: " + e.getMessage());
+            log.warn("Failed to delete task {} on server: {}", taskId, e.getMessage());
+            return SyncOutcome.failed(syncOp, e);
         }
         
-        return false;
+        return SyncOutcome.failed(syncOp);
     }
 
-    private void handleSyncFailure(SyncOps syncOp) {
+    // Transient failures back off; permanent ones and exhausted retries go to the dead-letter view
+    private void handleSyncFailure(SyncOutcome outcome, String owner) {
+        SyncOps syncOp = outcome.getSyncOp();
         syncOp.setRetryCount(syncOp.getRetryCount() + 1);
-        
-        if (syncOp.getRetryCount() >= maxRetries) {
+        syncOp.setLastError(truncate(outcome.getError()));
+
+        if (!outcome.isRetryable() || syncOp.getRetryCount() >= maxRetries) {
             syncOp.setStatus(SyncOps.Status.FAILED);
-            updateTaskSyncStatus(syncOp.getTaskId(), Task.SyncStatus.ERROR);
-            System.err.println("Max retries reached for sync operation: " + syncOp.getId());
+            syncOp.setNextAttemptAt(null);
+            taskRepository.updateSyncStatus(List.of(syncOp.getTaskId()), Task.SyncStatus.ERROR);
+            versionTracker.markChanged(List.of(syncOp.getTaskId()));
+            metrics.failed(syncOp.getOperationType(), outcome.isRetryable() ? "exhausted" : "permanent");
+            log.error("Dead-lettered sync operation {} on task {} after {} attempt(s): {}",
+                    syncOp.getId(), syncOp.getTaskId(), syncOp.getRetryCount(), syncOp.getLastError());
         } else {
-            System.out.println("Will retry sync operation: " + syncOp.getId() + " (attempt " + (syncOp.getRetryCount() + 1) + ")");
+            syncOp.setNextAttemptAt(LocalDateTime.now().plus(retryPolicy.backoff(syncOp.getRetryCount())));
+            metrics.retried(syncOp.getOperationType());
+            log.info("Will retry sync operation {} at {} (attempt {})",
+                    syncOp.getId(), syncOp.getNextAttemptAt(), syncOp.getRetryCount() + 1);
         }
-    }
 
-    private void updateTaskSyncStatus(Long taskId, Task.SyncStatus status) {
-        Optional<Task> task = taskRepository.findById(taskId);
-        if (task.isPresent()) {
-            Task updatedTask = task.get();
-            updatedTask.setSyncStatus(status);
-            if (status == Task.SyncStatus.SYNCED) {
-                updatedTask.setLastSyncedAt(LocalDateTime.now());
-            }
-            taskRepository.save(updatedTask);
-        }
+        syncRepo.recordAttempt(syncOp.getId(), owner, syncOp.getStatus(), syncOp.getRetryCount(),
+                syncOp.getNextAttemptAt(), syncOp.getLastError());
     }
 
-    @Scheduled(fixedDelay = 30000) 
-    public void scheduledSync() {
-        if (isOnline()) {
-            syncWithServer();
-        }
+    private static String truncate(String error) {
+        return error != null && error.length() > 500 ? error.substring(0, 500) : error;
     }
 
-    private boolean isOnline() {
-        try {
-            restTemplate.getForEntity(serverUrl + "/health", String.class);
-            return true;
-        } catch (Exception e) {
-            System.out.println("Server not reachable, skipping sync");
-            return false;
-        }
+    private void markTaskSynced(Long taskId, String serverId, LocalDateTime serverUpdatedAt, String base) {
+        taskRepository.markSynced(taskId, serverId,
+                serverUpdatedAt != null ? serverUpdatedAt : LocalDateTime.now(),
+                base, UNFINISHED, Task.SyncStatus.SYNCED);
     }
 
-    private boolean hasConflict(Task localTask, Task serverTask) {
-        if (localTask.getLastSyncedAt() == null) {
-            return false;
+    /**
+     * Returns ops whose worker let the lease run out (crashed, or stuck past
+     * {@code app.sync.lease-duration}) to PENDING so any worker can send them.
+     */
+    public int recoverExpiredLeases(LocalDateTime now) {
+        Integer recovered = transactionTemplate.execute(status ->
+                syncRepo.recoverExpiredLeases(now, SyncOps.Status.PENDING, SyncOps.Status.IN_FLIGHT));
+        if (recovered != null && recovered > 0) {
+            log.warn("Recovered {} sync operation(s) from expired leases", recovered);
         }
-
-        if (serverTask.getUpdatedAt().isAfter(localTask.getLastSyncedAt())) {
-            return true;
-        }
-        
-        return false;
+        return recovered == null ? 0 : recovered;
     }
 
-    private void logConflict(Task localTask, Task serverTask, String operation) {
-        System.out.println(" Conflict Occured");
-        System.out.println("Operation: " + operation);
-        System.out.println("Task ID: " + localTask.getId());
-        System.out.println("Local last updated: " + localTask.getUpdatedAt());
-        System.out.println("Local last synced: " + localTask.getLastSyncedAt());
-        System.out.println("Server last updated: " + serverTask.getUpdatedAt());
-        System.out.println("Resolution: Using last-write-wins (local version wins)");
-        System.out.println("Local title: '" + localTask.getTitle() + "'");
-        System.out.println("Server title: '" + serverTask.getTitle() + "'");
-        System.out.println("----------------------------------------");
-        
+    public List<SyncOps> getDeadLetters(int limit) {
+        return syncRepo.findByStatusOrderByIdDesc(SyncOps.Status.FAILED, PageRequest.of(0, limit));
     }
 
+    /**
+     * Puts dead-lettered ops back in the outbox with a fresh retry budget.
+     * With no ids, every dead letter is re-queued.
+     *
+     * @return the number of ops re-queued
+     */
+    public int requeueDeadLetters(List<Long> ids) {
+        Integer requeued = transactionTemplate.execute(status -> {
+            List<SyncOps> ops = ids == null || ids.isEmpty()
+                    ? syncRepo.findByStatus(SyncOps.Status.FAILED)
+                    : syncRepo.findAllById(ids).stream().filter(op -> op.getStatus() == SyncOps.Status.FAILED).toList();
+            if (ops.isEmpty()) {
+                return 0;
+            }
+            Set<Long> taskIds = new HashSet<>();
+            ops.forEach(op -> taskIds.add(op.getTaskId()));
+            int count = syncRepo.requeue(ops.stream().map(SyncOps::getId).toList(),
+                    SyncOps.Status.PENDING, SyncOps.Status.FAILED);
+            taskRepository.updateSyncStatus(taskIds, Task.SyncStatus.PENDING);
+            versionTracker.markChanged(taskIds);
+            taskIds.forEach(taskId -> eventPublisher.publishEvent(new SyncOpQueuedEvent(taskId)));
+            return count;
+        });
+        return requeued == null ? 0 : requeued;
+    }
 
-    public String getSyncStatus() {
-        List<SyncOps> pending = syncRepo.findByStatus(SyncOps.Status.PENDING);
-        List<SyncOps> failed = syncRepo.findByStatus(SyncOps.Status.FAILED);
-        
-        long conflictCount = 0;
-        
-        return String.format("Sync Status - Pending: %d, Failed: %d, Conflicts Detected: %d", 
-                           pending.size(), failed.size(), conflictCount);
+    // COUNT queries only; no outbox row is loaded besides the oldest pending one
+    public SyncStatus getSyncStatus() {
+        SyncOps oldest = syncRepo.findFirstByStatusOrderByCreatedAtAscIdAsc(SyncOps.Status.PENDING);
+        return new SyncStatus(
+                syncRepo.countByStatus(SyncOps.Status.PENDING),
+                syncRepo.countByStatus(SyncOps.Status.IN_FLIGHT),
+                syncRepo.countByStatus(SyncOps.Status.FAILED),
+                syncRepo.countByStatus(SyncOps.Status.SUCCESS),
+                conflictRepository.count(),
+                oldest != null ? oldest.getCreatedAt() : null,
+                metrics.getLastRunAt(),
+                metrics.getLastRunMillis(),
+                circuitBreaker.getState().name());
     }
 }
\ No newline at end of file
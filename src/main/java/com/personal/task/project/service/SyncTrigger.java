@@ -0,0 +1,127 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.repository.SyncRepo;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts a sync shortly after local writes instead of waiting for the
+ * periodic sweep.
+ *
+ * Each committed {@link SyncOpQueuedEvent} (re)arms a run {@code quiet-window}
+ * later, so a burst of writes becomes one sync. A burst never holds the run
+ * back for more than {@code max-wait}, and {@code max-batch} queued ops start
+ * it at once. Runs go through {@link SyncJobService}, so a trigger that fires
+ * during another run waits for it and then re-arms.
+ *
+ * After a run the trigger re-arms itself for the earliest op still backing
+ * off, or for the end of the circuit breaker's open period, so retries do not
+ * depend on the slow sweep either.
+ */
+@Component
+public class SyncTrigger {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncTrigger.class);
+
+    private final SyncJobService syncJobs;
+    private final SyncRepo syncRepo;
+    private final ServerCircuitBreaker circuitBreaker;
+    private final boolean enabled;
+    private final long quietWindowNanos;
+    private final long maxWaitNanos;
+    private final int maxBatch;
+    private final ScheduledExecutorService executor;
+
+    private ScheduledFuture<?> scheduled;
+    private long scheduledAt;
+    private int queued;
+    private long firstQueuedAt;
+
+    public SyncTrigger(SyncJobService syncJobs,
+                       SyncRepo syncRepo,
+                       ServerCircuitBreaker circuitBreaker,
+                       @Value("${app.sync.trigger.enabled:true}") boolean enabled,
+                       @Value("${app.sync.trigger.quiet-window:500ms}") Duration quietWindow,
+                       @Value("${app.sync.trigger.max-wait:5s}") Duration maxWait,
+                       @Value("${app.sync.trigger.max-batch:50}") int maxBatch) {
+        this.syncJobs = syncJobs;
+        this.syncRepo = syncRepo;
+        this.circuitBreaker = circuitBreaker;
+        this.enabled = enabled;
+        this.quietWindowNanos = quietWindow.toNanos();
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxBatch = maxBatch;
+        this.executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("sync-trigger").daemon().factory());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    // fallbackExecution: events published outside a transaction are handled straight away
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSyncOpQueued(SyncOpQueuedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (queued++ == 0) {
+            firstQueuedAt = now;
+        }
+        long runAt = queued >= maxBatch ? now : Math.min(now + quietWindowNanos, firstQueuedAt + maxWaitNanos);
+        arm(runAt, true);
+    }
+
+    // debounce: a later deadline replaces an earlier one; otherwise only an earlier one does
+    private synchronized void arm(long runAt, boolean debounce) {
+        if (scheduled != null && !scheduled.isDone()) {
+            if (!debounce && scheduledAt <= runAt) {
+                return;
+            }
+            scheduled.cancel(false);
+        }
+        scheduledAt = runAt;
+        scheduled = executor.schedule(this::run, Math.max(runAt - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+    }
+
+    private void run() {
+        synchronized (this) {
+            queued = 0;
+            scheduled = null;
+        }
+        try {
+            if (!syncJobs.runIfReachable("trigger")) {
+                // Half-open with a probe already out reports no remaining time; don't spin on it
+                Duration openFor = circuitBreaker.getRemainingOpenTime();
+                armAfter(openFor.toNanos() > quietWindowNanos ? openFor : Duration.ofNanos(quietWindowNanos));
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Triggered sync failed: {}", e.getMessage());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime nextAttempt = syncRepo.findNextAttemptAfter(SyncOps.Status.PENDING, now);
+        if (nextAttempt != null) {
+            armAfter(Duration.between(now, nextAttempt));
+        }
+    }
+
+    private void armAfter(Duration delay) {
+        arm(System.nanoTime() + Math.max(delay.toNanos(), 0), false);
+    }
+}
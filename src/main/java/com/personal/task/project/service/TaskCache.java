@@ -0,0 +1,64 @@
+package com.personal.task.project.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.personal.task.project.entity.Task;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache for the hot task reads, one entry per task id.
+ * Entries expire after {@code app.cache.tasks.ttl} and the cache holds at most
+ * {@code max-size} tasks. List pages are not cached; conditional GETs on the
+ * list endpoint cover repeated polls.
+ *
+ * Invalidation is driven by {@link TaskVersionTracker}, which evicts changed
+ * ids after their transaction commits. Loads go through
+ * Caffeine's per-key compute, so an eviction that lands while an older value
+ * is being loaded waits for the load and then removes it; a stale row cannot
+ * be put back after the write that replaced it.
+ *
+ * Hit, miss, eviction and size metrics are published as cache.* meters with
+ * cache=tasks.byId.
+ */
+@Component
+public class TaskCache {
+
+    private final boolean enabled;
+    private final Cache<Long, Task> byId;
+
+    public TaskCache(MeterRegistry meterRegistry,
+                     @Value("${app.cache.tasks.enabled:true}") boolean enabled,
+                     @Value("${app.cache.tasks.max-size:10000}") long maxSize,
+                     @Value("${app.cache.tasks.ttl:5m}") Duration ttl) {
+        this.enabled = enabled;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "tasks.byId");
+    }
+
+    // Absent tasks are not cached; the loader returns null for them
+    public Task getById(Long id, Supplier<Task> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return byId.get(id, key -> loader.get());
+    }
+
+    public void evict(Collection<Long> ids) {
+        byId.invalidateAll(ids);
+    }
+
+    public void evictAll() {
+        byId.invalidateAll();
+    }
+}
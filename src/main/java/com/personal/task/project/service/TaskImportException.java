@@ -0,0 +1,27 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.dto.ImportResult;
+
+import java.io.IOException;
+
+/**
+ * Thrown when an import stops early; carries what was committed before it.
+ */
+public class TaskImportException extends RuntimeException {
+
+    private final ImportResult result;
+
+    public TaskImportException(ImportResult result, Throwable cause) {
+        super(result.error(), cause);
+        this.result = result;
+    }
+
+    public ImportResult getResult() {
+        return result;
+    }
+
+    // Unreadable input rather than a row the database refused
+    public boolean isMalformedInput() {
+        return getCause() instanceof IOException;
+    }
+}
@@ -0,0 +1,100 @@
+package com.personal.task.project.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.personal.task.project.entity.Task;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outbox payload for {@code SyncOps.taskData}, format {@value #FORMAT_VERSION}:
+ * a flat JSON object with only the fields the server consumes (clientId,
+ * title, description, completed, deleted, version, updatedAt), written with
+ * the streaming generator and with defaults omitted.
+ *
+ * It stays JSON on purpose: the stored string is the request body, so the
+ * dispatcher sends it as-is instead of parsing and re-serializing a Task.
+ * {@link #decode} reads both this format and the full Task dumps written
+ * before it (payload format null).
+ */
+@Component
+public class TaskPayloadCodec {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private final JsonFactory jsonFactory;
+
+    public TaskPayloadCodec(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public String encode(Task task) {
+        return encode(task.getClientId(), TaskSnapshot.of(task), task.getVersion(), task.getUpdatedAt());
+    }
+
+    public String encode(UUID clientId, TaskSnapshot fields, Long version, LocalDateTime updatedAt) {
+        StringWriter out = new StringWriter(128);
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.writeStartObject();
+            if (clientId != null) {
+                generator.writeStringField("clientId", clientId.toString());
+            }
+            generator.writeStringField("title", fields.title());
+            if (fields.description() != null) {
+                generator.writeStringField("description", fields.description());
+            }
+            generator.writeBooleanField("completed", fields.completed());
+            if (fields.deleted()) {
+                generator.writeBooleanField("deleted", true);
+            }
+            if (version != null) {
+                generator.writeNumberField("version", version);
+            }
+            if (updatedAt != null) {
+                generator.writeStringField("updatedAt", updatedAt.toString());
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Reads the mergeable fields of a payload, skipping everything else.
+     */
+    public TaskSnapshot decode(String payload) {
+        String title = null;
+        String description = null;
+        boolean completed = false;
+        boolean deleted = false;
+
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Task payload is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "title" -> title = value == JsonToken.VALUE_NULL ? null : parser.getText();
+                    case "description" -> description = value == JsonToken.VALUE_NULL ? null : parser.getText();
+                    case "completed" -> completed = value == JsonToken.VALUE_TRUE;
+                    case "deleted" -> deleted = value == JsonToken.VALUE_TRUE;
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new TaskSnapshot(title, description, completed, deleted);
+    }
+}
@@ -1,20 +1,43 @@
 package com.personal.task.project.service;
 
+import com.personal.task.project.dto.ChangeFeedPage;
+import com.personal.task.project.dto.TaskChange;
+import com.personal.task.project.dto.TaskFilter;
+import com.personal.task.project.dto.TaskBatchOp;
+import com.personal.task.project.dto.TaskBatchResult;
+import com.personal.task.project.dto.TaskPage;
+import com.personal.task.project.dto.TaskSummary;
 import com.personal.task.project.entity.SyncOps;
 import com.personal.task.project.entity.Task;
 import com.personal.task.project.repository.SyncRepo;
 import com.personal.task.project.repository.TaskRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 public class TaskService {
 
+    private static final Logger log = LoggerFactory.getLogger(TaskService.class);
+
     @Autowired
     private TaskRepository taskRepository;
     
@@ -22,28 +45,177 @@ public class TaskService {
     private SyncRepo syncRepo;
     
     @Autowired
-    private ObjectMapper objectMapper;
+    private TaskPayloadCodec payloadCodec;
+
+    // Writes go through the queue so they can be group-committed; it opens the transaction
+    @Autowired
+    private WriteQueue writeQueue;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskVersionTracker versionTracker;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    // SyncTrigger hears about new ops once they commit
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.api.default-page-size:100}")
+    private int defaultPageSize;
+
+    @Value("${app.api.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Value("${app.tasks.write-attempts:3}")
+    private int writeAttempts;
+
+    @Value("${app.api.batch.max-ops:5000}")
+    private int maxBatchOps;
 
-    @Transactional
     public Task saveTask(Task task) {
-        boolean isNew = task.getId() == null;
-        Task savedTask = taskRepository.save(task);
+        return writeQueue.submit(() -> {
+            boolean isNew = task.getId() == null;
+            task.setSyncStatus(Task.SyncStatus.PENDING);
+            // merge, not persist: the caller's task keeps no id, so the write queue can run this again
+            Task savedTask = entityManager.merge(task);
+
+            SyncOps.OperationType operationType = isNew ? SyncOps.OperationType.CREATE : SyncOps.OperationType.UPDATE;
+            queueSyncOperation(savedTask, operationType);
+            versionTracker.markChanged(List.of(savedTask.getId()));
+
+            return savedTask;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public TaskPage<Task> getTaskPage(Long cursor, Integer limit, TaskFilter filter) {
+        int size = getPageSize(limit);
+        List<Task> rows = taskRepository.findPage(cursor == null ? 0L : cursor,
+                filter.completed(), filter.syncStatus(), filter.updatedSince(), PageRequest.of(0, size + 1));
+        return toPage(rows, size, Task::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskPage<TaskSummary> getTaskSummaries(Long cursor, Integer limit, TaskFilter filter) {
+        int size = getPageSize(limit);
+        List<TaskSummary> rows = taskRepository.findSummaryPage(cursor == null ? 0L : cursor,
+                filter.completed(), filter.syncStatus(), filter.updatedSince(), PageRequest.of(0, size + 1));
+        return toPage(rows, size, TaskSummary::id);
+    }
+
+    // Moves with every committed task write; the list ETag is built on it
+    @Transactional(readOnly = true)
+    public long getChangeSeq() {
+        return taskRepository.findChangeSeq();
+    }
+
+    public int getPageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
 
-        SyncOps.OperationType operationType = isNew ? SyncOps.OperationType.CREATE : SyncOps.OperationType.UPDATE;
-        queueSyncOperation(savedTask, operationType);
-        
-        return savedTask;
+    // Rows are fetched with one extra element to learn whether another page exists
+    private static <T> TaskPage<T> toPage(List<T> rows, int size, Function<T, Long> idOf) {
+        if (rows.size() <= size) {
+            return new TaskPage<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, size));
+        return new TaskPage<>(items, idOf.apply(items.get(size - 1)));
     }
 
-    public List<Task> getAllTasks() {
-        return taskRepository.findByIsDeletedFalse();
+    /**
+     * Live tasks whose title or description match every term of {@code q},
+     * best match first. Each term matches as a prefix ("desi" finds "design").
+     * Ranks shift as tasks change, so pages are addressed by offset: the
+     * page's {@code nextCursor} is the offset of the next one.
+     */
+    @Transactional(readOnly = true)
+    public TaskPage<Task> searchTasks(String q, Long offset, Integer limit) {
+        String query = toMatchQuery(q);
+        if (query.isEmpty()) {
+            return new TaskPage<>(List.of(), null);
+        }
+        int size = getPageSize(limit);
+        long start = offset == null ? 0L : Math.max(0L, offset);
+        List<Task> rows = taskRepository.search(query, size + 1, start);
+        if (rows.size() <= size) {
+            return new TaskPage<>(rows, null);
+        }
+        return new TaskPage<>(new ArrayList<>(rows.subList(0, size)), start + size);
     }
 
+    // Each term becomes a quoted prefix token, "term"*, so FTS5 operators in user input are taken literally
+    static String toMatchQuery(String q) {
+        StringJoiner terms = new StringJoiner(" ");
+        if (q != null) {
+            for (String term : q.trim().split("\\s+")) {
+                if (term.chars().anyMatch(Character::isLetterOrDigit)) {
+                    terms.add('"' + term.replace("\"", "\"\"") + "\"*");
+                }
+            }
+        }
+        return terms.toString();
+    }
+
+    /**
+     * Tasks changed after {@code since}, oldest change first, including
+     * tombstones for deleted tasks. Changes committed after {@code upTo} are
+     * left for the next call.
+     *
+     * @throws ChangeFeedExpiredException if tombstones past {@code since} have
+     *         been purged; a cursor of 0 is always accepted
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedPage getChanges(long since, long upTo, Integer limit) {
+        if (since > 0) {
+            long purgedThrough = taskRepository.findPurgedChangeSeq();
+            if (since < purgedThrough) {
+                throw new ChangeFeedExpiredException(since, purgedThrough);
+            }
+        }
+        int size = getPageSize(limit);
+        List<Task> rows = taskRepository.findChanges(since, upTo, PageRequest.of(0, size + 1));
+        boolean hasMore = rows.size() > size;
+        List<TaskChange> changes = rows.stream().limit(size).map(TaskChange::of).toList();
+        long cursor = changes.isEmpty() ? since : changes.get(changes.size() - 1).seq();
+        return new ChangeFeedPage(changes, cursor, hasMore);
+    }
+
+    @Transactional(readOnly = true)
+    public long getLatestChangeSeq() {
+        return taskRepository.findLatestChangeSeq();
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    // Cached reads stay outside a transaction so a hit never touches the connection pool
     public Optional<Task> getTaskById(Long id) {
-        return taskRepository.findById(id).filter(task -> !task.isDeleted());
+        return Optional.ofNullable(taskCache.getById(id, () -> taskRepository.findById(id).orElse(null)))
+                .filter(task -> !task.isDeleted());
     }
 
     public Task updateTask(Long id, Task taskDetails) {
+        return updateTask(id, taskDetails, null);
+    }
+
+    /**
+     * Updates a task, optionally only if it is still at {@code expectedVersion}
+     * (the If-Match of the request); a mismatch throws
+     * {@link TaskVersionMismatchException}.
+     */
+    public Task updateTask(Long id, Task taskDetails, Long expectedVersion) {
+        return withRetry(() -> writeQueue.submit(() -> applyUpdate(id, taskDetails, expectedVersion)));
+    }
+
+    private Task applyUpdate(Long id, Task taskDetails, Long expectedVersion) {
         Optional<Task> optionalTask = taskRepository.findById(id);
         if (optionalTask.isPresent()) {
             Task existingTask = optionalTask.get();
@@ -52,57 +224,194 @@ public class TaskService {
             if (existingTask.isDeleted()) {
                 return null; // Can't update deleted task
             }
+            checkVersion(existingTask, expectedVersion);
             
             // Update the fields
             existingTask.setTitle(taskDetails.getTitle());
             existingTask.setDescription(taskDetails.getDescription());
             existingTask.setCompleted(taskDetails.isCompleted());
+            existingTask.setSyncStatus(Task.SyncStatus.PENDING);
             
-            // Save and queue sync operation
-            Task savedTask = taskRepository.save(existingTask);
+            // Flushed here so the version check runs now and the op records the new version
+            Task savedTask = taskRepository.saveAndFlush(existingTask);
             queueSyncOperation(savedTask, SyncOps.OperationType.UPDATE);
+            versionTracker.markChanged(List.of(savedTask.getId()));
             
             return savedTask;
         }
         return null; 
     }
 
-    @Transactional
     public boolean deleteTask(Long id) {//del karo
+        return deleteTask(id, null);
+    }
+
+    public boolean deleteTask(Long id, Long expectedVersion) {
+        return withRetry(() -> writeQueue.submit(() -> applyDelete(id, expectedVersion)));
+    }
+
+    private boolean applyDelete(Long id, Long expectedVersion) {
         Optional<Task> optionalTask = taskRepository.findById(id);
         if (optionalTask.isPresent()) {
             Task task = optionalTask.get();
+            checkVersion(task, expectedVersion);
             task.setDeleted(true);
-            Task deletedTask = taskRepository.save(task);
+            task.setSyncStatus(Task.SyncStatus.PENDING);
+            Task deletedTask = taskRepository.saveAndFlush(task);
 
             queueSyncOperation(deletedTask, SyncOps.OperationType.DELETE);
+            versionTracker.markChanged(List.of(deletedTask.getId()));
             
             return true;
         }
         return false;
     }
     
-    private void queueSyncOperation(Task task, SyncOps.OperationType operationType) {
-        try {
-            SyncOps syncOp = new SyncOps();
-            syncOp.setOperationType(operationType);
-            syncOp.setTaskId(task.getId());
-            
-            // jfs
-            String taskData = objectMapper.writeValueAsString(task);
-            syncOp.setTaskData(taskData);
-            
-            // tap
+    public int getMaxBatchOps() {
+        return maxBatchOps;
+    }
+
+    /**
+     * Applies creates, updates and deletes in one transaction and returns one
+     * result per op, in order. An op that cannot apply (missing task, version
+     * mismatch, no title) gets an error result and the others still go
+     * through; only a database failure rolls the whole batch back.
+     *
+     * The tasks touched are read with one query, and the task and outbox rows
+     * are written with JDBC batches (see {@link com.personal.task.project.entity.BlockSequence}).
+     */
+    public List<TaskBatchResult> applyBatch(List<TaskBatchOp> ops) {
+        return withRetry(() -> writeQueue.submit(() -> applyBatchOps(ops)));
+    }
+
+    private List<TaskBatchResult> applyBatchOps(List<TaskBatchOp> ops) {
+        Set<Long> ids = new HashSet<>();
+        ops.forEach(op -> {
+            if (op.op() != TaskBatchOp.Type.CREATE && op.id() != null) {
+                ids.add(op.id());
+            }
+        });
+        Map<Long, Task> existing = new HashMap<>();
+        taskRepository.findAllById(ids).forEach(task -> existing.put(task.getId(), task));
+
+        TaskBatchResult[] results = new TaskBatchResult[ops.size()];
+        List<Integer> writes = new ArrayList<>();
+        List<Task> written = new ArrayList<>();
+        List<Task> created = new ArrayList<>();
+
+        for (int i = 0; i < ops.size(); i++) {
+            TaskBatchOp op = ops.get(i);
+            if (op.op() == null) {
+                results[i] = TaskBatchResult.error(i, 400, op.id(), null, "op is required");
+                continue;
+            }
+            if (op.op() != TaskBatchOp.Type.DELETE && (op.task() == null || op.task().getTitle() == null
+                    || op.task().getTitle().isBlank())) {
+                results[i] = TaskBatchResult.error(i, 400, op.id(), null, "Title is required");
+                continue;
+            }
+
+            Task task;
+            if (op.op() == TaskBatchOp.Type.CREATE) {
+                task = new Task();
+                created.add(task);
+            } else {
+                task = op.id() != null ? existing.get(op.id()) : null;
+                if (task == null || task.isDeleted()) {
+                    results[i] = TaskBatchResult.error(i, 404, op.id(), null, "Task not found");
+                    continue;
+                }
+                if (op.version() != null && !op.version().equals(task.getVersion())) {
+                    results[i] = TaskBatchResult.error(i, 412, task.getId(), task.getVersion(), "Version mismatch");
+                    continue;
+                }
+            }
+
+            if (op.op() == TaskBatchOp.Type.DELETE) {
+                task.setDeleted(true);
+            } else {
+                task.setTitle(op.task().getTitle());
+                task.setDescription(op.task().getDescription());
+                task.setCompleted(op.task().isCompleted());
+            }
             task.setSyncStatus(Task.SyncStatus.PENDING);
-            taskRepository.save(task);
+            writes.add(i);
+            written.add(task);
+        }
+
+        if (written.isEmpty()) {
+            return List.of(results);
+        }
+
+        // Inserts and updates go out as JDBC batches here; the versions the outbox records are known after it
+        taskRepository.saveAll(created);
+        taskRepository.flush();
+
+        List<SyncOps> syncOps = new ArrayList<>(written.size());
+        Set<Long> taskIds = new HashSet<>();
+        for (int w = 0; w < writes.size(); w++) {
+            int i = writes.get(w);
+            Task task = written.get(w);
+            SyncOps.OperationType type = SyncOps.OperationType.valueOf(ops.get(i).op().name());
+            syncOps.add(newSyncOp(task, type));
+            taskIds.add(task.getId());
+            results[i] = switch (type) {
+                case CREATE -> TaskBatchResult.ok(i, 201, task.getId(), task.getVersion());
+                case UPDATE -> TaskBatchResult.ok(i, 200, task.getId(), task.getVersion());
+                case DELETE -> TaskBatchResult.ok(i, 204, task.getId(), task.getVersion());
+            };
+        }
+        syncRepo.saveAll(syncOps);
+        versionTracker.markChanged(taskIds);
+        // One event is enough for the trigger: it only needs to know the outbox grew
+        eventPublisher.publishEvent(new SyncOpQueuedEvent(written.get(written.size() - 1).getId()));
+
+        return List.of(results);
+    }
+
+    private static void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new TaskVersionMismatchException(task.getId(), expectedVersion, task.getVersion());
+        }
+    }
+
+    // A concurrent writer bumped the version between our read and our write: re-read and
+    // re-apply. With If-Match the re-read turns into a version mismatch instead
+    private <T> T withRetry(Supplier<T> write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return write.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= writeAttempts) {
+                    throw e;
+                }
+                log.debug("Concurrent update detected, retrying (attempt {})", attempt + 1);
+            }
+        }
+    }
 
-            syncRepo.save(syncOp);
+    // Callers mark the task PENDING before saving it, so this only inserts the outbox row
+    private void queueSyncOperation(Task task, SyncOps.OperationType operationType) {
+        try {
+            syncRepo.save(newSyncOp(task, operationType));
+            eventPublisher.publishEvent(new SyncOpQueuedEvent(task.getId()));
             
         } catch (Exception e) {
-            System.err.println("Failed to queue sync operation: " + e.getMessage());
+            log.error("Failed to queue sync operation for task {}", task.getId(), e);
+            // Task is managed here, so the flush picks this up
             task.setSyncStatus(Task.SyncStatus.ERROR);
-            taskRepository.save(task);
         }
     }
-}
 
+    private SyncOps newSyncOp(Task task, SyncOps.OperationType operationType) {
+        SyncOps syncOp = new SyncOps();
+        syncOp.setOperationType(operationType);
+        syncOp.setTaskId(task.getId());
+        syncOp.setTaskVersion(task.getVersion());
+
+        // Compact payload that is sent to the server as-is
+        syncOp.setTaskData(payloadCodec.encode(task));
+        syncOp.setPayloadFormat(TaskPayloadCodec.FORMAT_VERSION);
+        return syncOp;
+    }
+}
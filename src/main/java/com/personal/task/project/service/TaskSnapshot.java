@@ -0,0 +1,34 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.entity.Task;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The user-editable fields of a task, which are the unit of three-way merging.
+ */
+public record TaskSnapshot(String title, String description, boolean completed, boolean deleted) {
+
+    public static TaskSnapshot of(Task task) {
+        return new TaskSnapshot(task.getTitle(), task.getDescription(), task.isCompleted(), task.isDeleted());
+    }
+
+    public Map<String, Object> fields() {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("title", title);
+        fields.put("description", description);
+        fields.put("completed", completed);
+        fields.put("deleted", deleted);
+        return fields;
+    }
+
+    public static TaskSnapshot fromFields(Map<String, Object> fields) {
+        return new TaskSnapshot((String) fields.get("title"), (String) fields.get("description"),
+                (Boolean) fields.get("completed"), (Boolean) fields.get("deleted"));
+    }
+
+    public TaskSnapshot withDeleted(boolean deleted) {
+        return new TaskSnapshot(title, description, completed, deleted);
+    }
+}
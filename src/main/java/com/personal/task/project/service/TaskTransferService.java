@@ -0,0 +1,279 @@
+package com.personal.task.project.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.personal.task.project.dto.ImportResult;
+import com.personal.task.project.dto.SyncOpRecord;
+import com.personal.task.project.dto.TaskRecord;
+import com.personal.task.project.dto.TransferRecord;
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.repository.SyncRepo;
+import com.personal.task.project.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Bulk NDJSON export and import of tasks and the sync outbox, for backing up
+ * and seeding replicas. One {@link TransferRecord} per line.
+ *
+ * Export reads from a forward-only cursor over DTO projections and writes each
+ * row as it arrives, so memory stays flat however many rows there are. It runs
+ * in one read-only transaction and is therefore a consistent snapshot.
+ *
+ * Import parses while it writes: rows are inserted {@value #INSERT_ROWS} at a
+ * time with multi-row INSERTs that keep their ids, and committed every
+ * {@code app.transfer.import.commit-rows} rows. A failure leaves the chunks
+ * committed before it in place.
+ */
+@Service
+public class TaskTransferService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskTransferService.class);
+
+    private static final int INSERT_ROWS = 50;
+
+    private static final String TASK_INSERT = "INSERT INTO Task (id, clientId, version, title, description, completed, " +
+            "createdAt, updatedAt, isDeleted, syncStatus, serverId, lastSyncedAt, syncBase) VALUES ";
+    private static final int TASK_COLUMNS = 13;
+
+    private static final String SYNC_OP_INSERT = "INSERT INTO SyncOps (id, operationType, taskId, taskData, payloadFormat, " +
+            "status, taskVersion, retryCount, nextAttemptAt, lastError, createdAt) VALUES ";
+    private static final int SYNC_OP_COLUMNS = 11;
+
+    // Same as migration V4: imported ids must not be handed out again
+    private static final String BUMP_ID_SEQUENCE =
+            "UPDATE id_sequence SET value = MAX(value, (SELECT COALESCE(MAX(id), 0) + 1 FROM %s)) WHERE name = '%<s'";
+
+    private final TaskRepository taskRepository;
+    private final SyncRepo syncRepo;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskVersionTracker versionTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectWriter recordWriter;
+    private final ObjectReader recordReader;
+    private final int commitRows;
+
+    public TaskTransferService(TaskRepository taskRepository,
+                               SyncRepo syncRepo,
+                               EntityManager entityManager,
+                               TransactionTemplate transactionTemplate,
+                               TaskVersionTracker versionTracker,
+                               ApplicationEventPublisher eventPublisher,
+                               ObjectMapper objectMapper,
+                               @Value("${app.transfer.import.commit-rows:10000}") int commitRows) {
+        this.taskRepository = taskRepository;
+        this.syncRepo = syncRepo;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.versionTracker = versionTracker;
+        this.eventPublisher = eventPublisher;
+        this.recordWriter = objectMapper.writerFor(TransferRecord.class);
+        this.recordReader = objectMapper.readerFor(TransferRecord.class);
+        this.commitRows = commitRows;
+    }
+
+    /**
+     * Writes all live tasks, plus tombstones and the outbox if asked, to
+     * {@code out}. Tasks come first, then outbox rows, each in id order.
+     *
+     * @return the number of lines written
+     */
+    @Transactional(readOnly = true)
+    public long export(OutputStream out, boolean tombstones, boolean outbox) throws IOException {
+        long lines;
+        try (Stream<TaskRecord> tasks = taskRepository.streamRecords(tombstones)) {
+            lines = write(out, tasks);
+        }
+        if (outbox) {
+            try (Stream<SyncOpRecord> ops = syncRepo.streamRecords()) {
+                lines += write(out, ops);
+            }
+        }
+        out.flush();
+        return lines;
+    }
+
+    private <T extends TransferRecord> long write(OutputStream out, Stream<T> records) throws IOException {
+        long lines = 0;
+        Iterator<T> iterator = records.iterator();
+        while (iterator.hasNext()) {
+            T record = iterator.next();
+            out.write(recordWriter.writeValueAsBytes(record));
+            out.write('\n');
+            lines++;
+        }
+        return lines;
+    }
+
+    /**
+     * Reads NDJSON produced by {@link #export} and inserts it as-is, ids
+     * included. Meant for empty or freshly created replicas: a row whose id
+     * or clientId already exists fails the import.
+     *
+     * @throws TaskImportException on malformed input or a rejected row, with
+     *         the counts committed before it
+     */
+    public ImportResult importFrom(InputStream in) {
+        Chunk total = new Chunk();
+        try (MappingIterator<TransferRecord> records = recordReader.readValues(in)) {
+            while (true) {
+                Chunk committed = transactionTemplate.execute(status -> importChunk(records));
+                total.add(committed);
+                if (committed.read < commitRows) {
+                    break;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Throwable cause = e instanceof UncheckedIOException unchecked ? unchecked.getCause() : e;
+            log.warn("Import stopped after {} tasks and {} sync ops: {}", total.tasks, total.syncOps, cause.getMessage());
+            throw new TaskImportException(new ImportResult(total.tasks, total.syncOps, cause.getMessage()), cause);
+        } finally {
+            if (total.lastPendingTaskId != null) {
+                eventPublisher.publishEvent(new SyncOpQueuedEvent(total.lastPendingTaskId));
+            }
+        }
+
+        log.info("Imported {} tasks and {} sync ops", total.tasks, total.syncOps);
+        return new ImportResult(total.tasks, total.syncOps, null);
+    }
+
+    // One transaction: up to commitRows records, inserted INSERT_ROWS at a time
+    private Chunk importChunk(MappingIterator<TransferRecord> records) {
+        Chunk chunk = new Chunk();
+        List<TaskRecord> tasks = new ArrayList<>(INSERT_ROWS);
+        List<SyncOpRecord> ops = new ArrayList<>(INSERT_ROWS);
+        List<Long> taskIds = new ArrayList<>();
+
+        try {
+            while (chunk.read < commitRows && records.hasNextValue()) {
+                TransferRecord record = records.nextValue();
+                chunk.read++;
+                if (record instanceof TaskRecord task) {
+                    tasks.add(task);
+                    taskIds.add(task.id());
+                    if (tasks.size() == INSERT_ROWS) {
+                        chunk.tasks += insertTasks(tasks);
+                    }
+                } else if (record instanceof SyncOpRecord op) {
+                    ops.add(op);
+                    if (op.status() == SyncOps.Status.PENDING) {
+                        chunk.lastPendingTaskId = op.taskId();
+                    }
+                    if (ops.size() == INSERT_ROWS) {
+                        chunk.syncOps += insertSyncOps(ops);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        chunk.tasks += insertTasks(tasks);
+        chunk.syncOps += insertSyncOps(ops);
+
+        entityManager.createNativeQuery(BUMP_ID_SEQUENCE.formatted("tasks")).executeUpdate();
+        entityManager.createNativeQuery(BUMP_ID_SEQUENCE.formatted("sync_operations")).executeUpdate();
+        if (!taskIds.isEmpty()) {
+            versionTracker.markChanged(taskIds);
+        }
+        return chunk;
+    }
+
+    private int insertTasks(List<TaskRecord> tasks) {
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        Query insert = entityManager.createQuery(TASK_INSERT + placeholders(tasks.size(), TASK_COLUMNS));
+        int p = 1;
+        for (TaskRecord task : tasks) {
+            insert.setParameter(p++, task.id());
+            insert.setParameter(p++, task.clientId());
+            insert.setParameter(p++, task.version() != null ? task.version() : 0L);
+            insert.setParameter(p++, task.title());
+            insert.setParameter(p++, task.description());
+            insert.setParameter(p++, task.completed());
+            insert.setParameter(p++, task.createdAt());
+            insert.setParameter(p++, task.updatedAt() != null ? task.updatedAt() : task.createdAt());
+            insert.setParameter(p++, task.deleted());
+            insert.setParameter(p++, task.syncStatus());
+            insert.setParameter(p++, task.serverId());
+            insert.setParameter(p++, task.lastSyncedAt());
+            insert.setParameter(p++, task.syncBase());
+        }
+        int inserted = insert.executeUpdate();
+        tasks.clear();
+        return inserted;
+    }
+
+    private int insertSyncOps(List<SyncOpRecord> ops) {
+        if (ops.isEmpty()) {
+            return 0;
+        }
+        Query insert = entityManager.createQuery(SYNC_OP_INSERT + placeholders(ops.size(), SYNC_OP_COLUMNS));
+        int p = 1;
+        for (SyncOpRecord op : ops) {
+            insert.setParameter(p++, op.id());
+            insert.setParameter(p++, op.operationType());
+            insert.setParameter(p++, op.taskId());
+            insert.setParameter(p++, op.taskData());
+            insert.setParameter(p++, op.payloadFormat());
+            insert.setParameter(p++, op.status());
+            insert.setParameter(p++, op.taskVersion());
+            insert.setParameter(p++, op.retryCount());
+            insert.setParameter(p++, op.nextAttemptAt());
+            insert.setParameter(p++, op.lastError());
+            insert.setParameter(p++, op.createdAt());
+        }
+        int inserted = insert.executeUpdate();
+        ops.clear();
+        return inserted;
+    }
+
+    // "(?1, ?2), (?3, ?4)": ordinal parameters, one tuple per row
+    private static String placeholders(int rows, int columns) {
+        StringBuilder sql = new StringBuilder(rows * columns * 5);
+        int p = 1;
+        for (int row = 0; row < rows; row++) {
+            sql.append(row == 0 ? "(" : ", (");
+            for (int column = 0; column < columns; column++) {
+                sql.append(column == 0 ? "?" : ", ?").append(p++);
+            }
+            sql.append(')');
+        }
+        return sql.toString();
+    }
+
+    private static final class Chunk {
+
+        private int read;
+        private long tasks;
+        private long syncOps;
+        private Long lastPendingTaskId;
+
+        void add(Chunk other) {
+            tasks += other.tasks;
+            syncOps += other.syncOps;
+            if (other.lastPendingTaskId != null) {
+                lastPendingTaskId = other.lastPendingTaskId;
+            }
+        }
+    }
+}
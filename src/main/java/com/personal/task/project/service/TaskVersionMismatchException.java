@@ -0,0 +1,18 @@
+package com.personal.task.project.service;
+
+/**
+ * Thrown when a conditional write names a task version that is no longer current.
+ */
+public class TaskVersionMismatchException extends RuntimeException {
+
+    private final Long currentVersion;
+
+    public TaskVersionMismatchException(Long taskId, Long expectedVersion, Long currentVersion) {
+        super("Task " + taskId + " is at version " + currentVersion + ", not " + expectedVersion);
+        this.currentVersion = currentVersion;
+    }
+
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
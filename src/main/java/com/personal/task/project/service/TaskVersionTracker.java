@@ -0,0 +1,37 @@
+package com.personal.task.project.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Hears about every committed change to a task, local or sync-side, and
+ * evicts the changed tasks from {@link TaskCache}. List ETags do not come
+ * from here but from the database's change sequence, which every writer
+ * raises in its own transaction.
+ */
+@Component
+public class TaskVersionTracker {
+
+    private final TaskCache taskCache;
+
+    public TaskVersionTracker(TaskCache taskCache) {
+        this.taskCache = taskCache;
+    }
+
+    // Inside a transaction this waits for commit, so the read that refills the cache sees the new row
+    public void markChanged(Collection<Long> taskIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    taskCache.evict(taskIds);
+                }
+            });
+        } else {
+            taskCache.evict(taskIds);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.entity.BlockSequenceGenerator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs small writes in a transaction. With {@code app.sqlite.write-queue.enabled}
+ * the writes are handed to one writer thread, which group-commits everything
+ * that arrives within {@code linger-ms} (up to {@code max-batch} writes) in a
+ * single transaction and so pays for one fsync instead of one per write. Each
+ * write in a group runs behind its own savepoint, so a write that throws only
+ * fails its own caller. A database error can still leave the whole
+ * transaction rollback-only; the rest of the group then runs again in a new
+ * one. Writes must therefore leave their inputs as they found them, so a
+ * second run does what the first would have done.
+ *
+ * Writes submitted from inside an existing transaction always run inline in
+ * that transaction.
+ */
+@Component
+public class WriteQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteQueue.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final long lingerNanos;
+    private final BlockingQueue<PendingWrite<?>> queue = new LinkedBlockingQueue<>();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public WriteQueue(TransactionTemplate transactionTemplate,
+                      EntityManager entityManager,
+                      @Value("${app.sqlite.write-queue.enabled:false}") boolean enabled,
+                      @Value("${app.sqlite.write-queue.max-batch:64}") int maxBatch,
+                      @Value("${app.sqlite.write-queue.linger-ms:2}") long lingerMs) {
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.enabled = enabled;
+        this.maxBatch = maxBatch;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("sqlite-writer").daemon().start(this::drain);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    public <T> T submit(Supplier<T> write) {
+        if (!running || TransactionSynchronizationManager.isActualTransactionActive()
+                || Thread.currentThread() == writer) {
+            return transactionTemplate.execute(status -> write.get());
+        }
+
+        PendingWrite<T> pending = new PendingWrite<>(write);
+        queue.add(pending);
+        try {
+            return pending.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for write to commit", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void drain() {
+        List<PendingWrite<?>> group = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                PendingWrite<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+
+                long deadline = System.nanoTime() + lingerNanos;
+                while (group.size() < maxBatch) {
+                    PendingWrite<?> next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                group.clear();
+            }
+        }
+
+        // Anything left behind at shutdown still commits, one write at a time
+        PendingWrite<?> leftover;
+        while ((leftover = queue.poll()) != null) {
+            commitAlone(leftover);
+        }
+    }
+
+    private void commit(List<PendingWrite<?>> group) {
+        if (group.size() == 1) {
+            commitAlone(group.get(0));
+            return;
+        }
+        List<PendingWrite<?>> remaining = group;
+        while (!remaining.isEmpty()) {
+            remaining = commitGroup(remaining);
+        }
+    }
+
+    /**
+     * Runs the writes in one transaction and returns those that still need
+     * one. That is none unless a write's database error left the transaction
+     * rollback-only: that write fails, and every other write of the group,
+     * before or after it, is returned to run again.
+     */
+    private List<PendingWrite<?>> commitGroup(List<PendingWrite<?>> group) {
+        List<PendingWrite<?>> written = new ArrayList<>(group.size());
+        List<PendingWrite<?>> again = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < group.size(); i++) {
+                    PendingWrite<?> pending = group.get(i);
+                    Throwable failure = runIsolated(pending);
+                    if (failure == null) {
+                        written.add(pending);
+                    } else if (status.isRollbackOnly()) {
+                        log.warn("Write failed with a database error, running the {} writes grouped with it again: {}",
+                                group.size() - 1, failure.getMessage());
+                        again.addAll(written);
+                        again.addAll(group.subList(i + 1, group.size()));
+                        written.clear();
+                        status.setRollbackOnly();
+                        return;
+                    }
+                }
+            });
+            written.forEach(PendingWrite::complete);
+        } catch (RuntimeException | Error e) {
+            log.warn("Group commit of {} writes failed: {}", group.size(), e.getMessage());
+            // Writes that already failed on their own keep their own exception
+            group.forEach(write -> write.result.completeExceptionally(e));
+            return List.of();
+        }
+        return again;
+    }
+
+    // Flushing inside the savepoint surfaces the write's SQL errors there, and clearing afterwards
+    // keeps a rolled-back write's entities out of the group's commit
+    private Throwable runIsolated(PendingWrite<?> pending) {
+        Session session = entityManager.unwrap(Session.class);
+        Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+        try {
+            pending.run();
+            entityManager.flush();
+            session.doWork(connection -> connection.releaseSavepoint(savepoint));
+            return null;
+        } catch (RuntimeException | Error e) {
+            session.doWork(connection -> connection.rollback(savepoint));
+            BlockSequenceGenerator.discardBlocks(session.unwrap(SharedSessionContractImplementor.class));
+            pending.result.completeExceptionally(e);
+            return e;
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    private void commitAlone(PendingWrite<?> pending) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> pending.run());
+            pending.complete();
+        } catch (RuntimeException | Error e) {
+            pending.result.completeExceptionally(e);
+        }
+    }
+
+    private static final class PendingWrite<T> {
+
+        private final Supplier<T> write;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private T value;
+
+        PendingWrite(Supplier<T> write) {
+            this.write = write;
+        }
+
+        void run() {
+            value = write.get();
+        }
+
+        // Callers only see their result once the whole group has committed
+        void complete() {
+            result.complete(value);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- Outbox paging: WHERE status = ? ORDER BY created_at, id
+CREATE INDEX IF NOT EXISTS idx_sync_ops_status_created ON sync_operations (status, created_at, id);
+
+-- Per-task history: WHERE task_id = ? ORDER BY created_at
+CREATE INDEX IF NOT EXISTS idx_sync_ops_task_created ON sync_operations (task_id, created_at);
+
+-- Live task listing; only non-deleted rows are indexed
+CREATE INDEX IF NOT EXISTS idx_tasks_live ON tasks (id) WHERE is_deleted = 0;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_sync_status ON tasks (sync_status);
@@ -0,0 +1,27 @@
+-- Monotonic change sequence for the task change feed (GET /api/tasks/changes).
+-- SQLite serialises writers, so sequence values become visible in commit order.
+CREATE TABLE IF NOT EXISTS change_sequence (
+    name TEXT PRIMARY KEY,
+    value INTEGER NOT NULL
+);
+
+-- Existing rows are numbered by id so a first full pull sees all of them
+UPDATE tasks SET change_seq = id WHERE change_seq IS NULL;
+
+INSERT OR IGNORE INTO change_sequence (name, value) SELECT 'tasks', COALESCE(MAX(change_seq), 0) FROM tasks;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_change_seq ON tasks (change_seq);
+
+CREATE TRIGGER IF NOT EXISTS trg_tasks_change_seq_insert AFTER INSERT ON tasks
+BEGIN
+    UPDATE change_sequence SET value = value + 1 WHERE name = 'tasks';
+    UPDATE tasks SET change_seq = (SELECT value FROM change_sequence WHERE name = 'tasks') WHERE id = NEW.id;
+END;
+
+-- The WHEN clause keeps the trigger's own UPDATE from firing it again
+CREATE TRIGGER IF NOT EXISTS trg_tasks_change_seq_update AFTER UPDATE ON tasks
+WHEN NEW.change_seq IS OLD.change_seq
+BEGIN
+    UPDATE change_sequence SET value = value + 1 WHERE name = 'tasks';
+    UPDATE tasks SET change_seq = (SELECT value FROM change_sequence WHERE name = 'tasks') WHERE id = NEW.id;
+END;
@@ -0,0 +1,36 @@
+-- sync_operations tables created before leases have CHECK (status IN ('PENDING','SUCCESS','FAILED')),
+-- which rejects every IN_FLIGHT claim. ddl-auto=update never touches CHECK constraints and SQLite
+-- cannot alter one, so the table is rebuilt with the definition Hibernate creates today.
+DROP TABLE IF EXISTS sync_operations_rebuild;
+
+CREATE TABLE sync_operations_rebuild (
+    payload_format integer,
+    retry_count integer not null,
+    created_at timestamp not null,
+    id integer,
+    lease_expires_at timestamp,
+    next_attempt_at timestamp,
+    task_id bigint not null,
+    task_version bigint,
+    operation_type varchar(20) not null check (operation_type in ('CREATE','UPDATE','DELETE')),
+    status varchar(20) not null check (status in ('PENDING','IN_FLIGHT','SUCCESS','FAILED')),
+    claimed_by varchar(64),
+    last_error varchar(500),
+    task_data TEXT,
+    primary key (id)
+);
+
+INSERT INTO sync_operations_rebuild (payload_format, retry_count, created_at, id, lease_expires_at, next_attempt_at,
+        task_id, task_version, operation_type, status, claimed_by, last_error, task_data)
+SELECT payload_format, retry_count, created_at, id, lease_expires_at, next_attempt_at,
+        task_id, task_version, operation_type, status, claimed_by, last_error, task_data
+FROM sync_operations;
+
+DROP TABLE sync_operations;
+
+ALTER TABLE sync_operations_rebuild RENAME TO sync_operations;
+
+-- The V1 indexes went with the old table
+CREATE INDEX IF NOT EXISTS idx_sync_ops_status_created ON sync_operations (status, created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_sync_ops_task_created ON sync_operations (task_id, created_at);
@@ -0,0 +1,12 @@
+-- Id blocks for @BlockSequence entities; value is the next free id.
+-- Rows written before the switch from IDENTITY keep their ids: the counter is moved past them.
+CREATE TABLE IF NOT EXISTS id_sequence (
+    name TEXT PRIMARY KEY,
+    value INTEGER NOT NULL
+);
+
+INSERT OR IGNORE INTO id_sequence (name, value) SELECT 'tasks', COALESCE(MAX(id), 0) + 1 FROM tasks;
+INSERT OR IGNORE INTO id_sequence (name, value) SELECT 'sync_operations', COALESCE(MAX(id), 0) + 1 FROM sync_operations;
+
+UPDATE id_sequence SET value = MAX(value, (SELECT COALESCE(MAX(id), 0) + 1 FROM tasks)) WHERE name = 'tasks';
+UPDATE id_sequence SET value = MAX(value, (SELECT COALESCE(MAX(id), 0) + 1 FROM sync_operations)) WHERE name = 'sync_operations';
@@ -0,0 +1,35 @@
+-- Full-text index for GET /api/tasks/search. External content: the index stores
+-- only tokens and reads title/description back from tasks by rowid = id.
+CREATE VIRTUAL TABLE IF NOT EXISTS tasks_fts USING fts5 (
+    title,
+    description,
+    content = 'tasks',
+    content_rowid = 'id',
+    tokenize = 'unicode61 remove_diacritics 2'
+);
+
+-- Kept in step by triggers, so every writer (TaskService, the sync puller's
+-- JPQL upserts, batch and import) updates the index in its own transaction.
+-- Tombstones stay indexed; the search query filters them out.
+CREATE TRIGGER IF NOT EXISTS trg_tasks_fts_insert AFTER INSERT ON tasks
+BEGIN
+    INSERT INTO tasks_fts (rowid, title, description) VALUES (NEW.id, NEW.title, NEW.description);
+END;
+
+CREATE TRIGGER IF NOT EXISTS trg_tasks_fts_delete AFTER DELETE ON tasks
+BEGIN
+    INSERT INTO tasks_fts (tasks_fts, rowid, title, description) VALUES ('delete', OLD.id, OLD.title, OLD.description);
+END;
+
+-- Hibernate writes every column on update; only reindex when the text changed.
+-- The change_seq trigger's own UPDATE does not touch these columns.
+CREATE TRIGGER IF NOT EXISTS trg_tasks_fts_update AFTER UPDATE OF title, description ON tasks
+WHEN NEW.title IS NOT OLD.title OR NEW.description IS NOT OLD.description
+BEGIN
+    INSERT INTO tasks_fts (tasks_fts, rowid, title, description) VALUES ('delete', OLD.id, OLD.title, OLD.description);
+    INSERT INTO tasks_fts (rowid, title, description) VALUES (NEW.id, NEW.title, NEW.description);
+END;
+
+-- Indexes existing rows on first apply, and drops stale entries when ddl-auto
+-- recreated the tasks table underneath a surviving index
+INSERT INTO tasks_fts (tasks_fts) VALUES ('rebuild');
@@ -0,0 +1,9 @@
+-- Highest change_seq among purged tombstones. A change feed cursor below it may
+-- have missed deletes, so GET /api/tasks/changes answers 410 for it.
+INSERT OR IGNORE INTO change_sequence (name, value) VALUES ('tasks_purged', 0);
+
+-- A freshly created (create, create-drop) tasks table has had nothing purged
+UPDATE change_sequence SET value = 0 WHERE name = 'tasks_purged' AND NOT EXISTS (SELECT 1 FROM tasks);
+
+-- Tombstone purge: WHERE is_deleted = 1 AND last_synced_at < ?
+CREATE INDEX IF NOT EXISTS idx_tasks_tombstones ON tasks (last_synced_at) WHERE is_deleted = 1;
@@ -0,0 +1,142 @@
+package com.personal.task.project.config;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query latency on the outbox and task hot paths before and after the V1
+ * index migration, at 100k and 1M rows. Run with -Pbenchmarks.
+ */
+@Tag("benchmark")
+class SchemaIndexBenchmarkTest {
+
+    private static final int ITERATIONS = 20;
+
+    private static final Map<String, String> QUERIES = new LinkedHashMap<>();
+
+    static {
+        QUERIES.put("pending page", "SELECT id FROM sync_operations WHERE status = 'PENDING' ORDER BY created_at, id LIMIT 50");
+        QUERIES.put("ops by task", "SELECT id FROM sync_operations WHERE task_id = 4242 ORDER BY created_at");
+        QUERIES.put("failed count", "SELECT COUNT(*) FROM sync_operations WHERE status = 'FAILED'");
+        QUERIES.put("live tasks page", "SELECT id FROM tasks WHERE is_deleted = 0 ORDER BY id LIMIT 100");
+        QUERIES.put("error tasks", "SELECT COUNT(*) FROM tasks WHERE sync_status = 'ERROR'");
+    }
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void indexesCutQueryLatency() throws Exception {
+        for (int rows : new int[] {100_000, 1_000_000}) {
+            SQLiteDataSource dataSource = new SQLiteDataSource();
+            dataSource.setUrl("jdbc:sqlite:" + dir.resolve("bench-" + rows + ".db"));
+
+            try (Connection connection = dataSource.getConnection()) {
+                createTables(connection);
+                seed(connection, rows);
+
+                Map<String, Double> before = measure(connection);
+                new SchemaMigrator(dataSource).migrate();
+                Map<String, Double> after = measure(connection);
+
+                System.out.printf("%n%,d rows%n%-16s %12s %12s%n", rows, "query", "before (ms)", "after (ms)");
+                for (String name : QUERIES.keySet()) {
+                    System.out.printf("%-16s %12.3f %12.3f%n", name, before.get(name), after.get(name));
+                }
+
+                assertThat(after.get("pending page")).isLessThan(before.get("pending page"));
+                assertThat(after.get("ops by task")).isLessThan(before.get("ops by task"));
+            }
+        }
+    }
+
+    private Map<String, Double> measure(Connection connection) throws SQLException {
+        Map<String, Double> results = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement()) {
+            for (Map.Entry<String, String> query : QUERIES.entrySet()) {
+                run(statement, query.getValue()); // warm the page cache
+                long start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    run(statement, query.getValue());
+                }
+                results.put(query.getKey(), (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS);
+            }
+        }
+        return results;
+    }
+
+    private void run(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                rs.getLong(1);
+            }
+        }
+    }
+
+    // Mirrors the tables Hibernate generates for Task and SyncOps
+    private void createTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE tasks (id integer PRIMARY KEY, client_id varchar(255) NOT NULL UNIQUE, "
+                    + "title varchar(255) NOT NULL, description varchar(1000), completed boolean NOT NULL, "
+                    + "created_at timestamp NOT NULL, updated_at timestamp NOT NULL, is_deleted boolean NOT NULL, "
+                    + "sync_status varchar(20) NOT NULL, server_id varchar(255), last_synced_at timestamp, change_seq bigint)");
+            statement.execute("CREATE TABLE sync_operations (id integer PRIMARY KEY, operation_type varchar(20) NOT NULL, "
+                    + "task_id bigint NOT NULL, task_data TEXT, status varchar(20) NOT NULL, "
+                    + "retry_count integer NOT NULL, created_at timestamp NOT NULL, payload_format integer, "
+                    + "task_version bigint, next_attempt_at timestamp, last_error varchar(500), "
+                    + "claimed_by varchar(64), lease_expires_at timestamp)");
+        }
+    }
+
+    private void seed(Connection connection, int rows) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement task = connection.prepareStatement(
+                "INSERT INTO tasks (id, client_id, title, description, completed, created_at, updated_at, is_deleted, sync_status) "
+                        + "VALUES (?, ?, ?, ?, 0, ?, ?, ?, ?)");
+             PreparedStatement op = connection.prepareStatement(
+                "INSERT INTO sync_operations (id, operation_type, task_id, task_data, status, retry_count, created_at) "
+                        + "VALUES (?, 'UPDATE', ?, '{}', ?, 0, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                long created = 1_700_000_000_000L + i;
+                task.setInt(1, i);
+                task.setString(2, "client-" + i);
+                task.setString(3, "task " + i);
+                task.setString(4, "description for task " + i);
+                task.setLong(5, created);
+                task.setLong(6, created);
+                task.setInt(7, i % 10 == 0 ? 1 : 0);
+                task.setString(8, i % 100 == 0 ? "ERROR" : "SYNCED");
+                task.addBatch();
+
+                op.setInt(1, i);
+                op.setInt(2, i % (rows / 10) + 1);
+                // Long-running outbox: almost everything already synced
+                op.setString(3, i % 1000 == 0 ? "PENDING" : i % 997 == 0 ? "FAILED" : "SUCCESS");
+                op.setLong(4, created);
+                op.addBatch();
+
+                if (i % 10_000 == 0) {
+                    task.executeBatch();
+                    op.executeBatch();
+                }
+            }
+            task.executeBatch();
+            op.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+}
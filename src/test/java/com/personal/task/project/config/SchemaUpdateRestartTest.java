@@ -0,0 +1,50 @@
+package com.personal.task.project.config;
+
+import com.personal.task.project.ProjectApplication;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Restarts on a database the migrations have already run against, with the
+ * production ddl-auto=update: Hibernate must cope with what the scripts
+ * created (the FTS5 table and its shadow tables among them).
+ */
+class SchemaUpdateRestartTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void secondStartOnAMigratedDatabaseBoots() {
+        String[] args = {
+                "--spring.datasource.url=jdbc:sqlite:" + dir.resolve("restart.db"),
+                "--spring.jpa.hibernate.ddl-auto=update",
+                "--app.sync.pull.enabled=false"
+        };
+
+        try (ConfigurableApplicationContext first = start(args)) {
+            Task task = new Task();
+            task.setTitle("survives a restart");
+            first.getBean(TaskService.class).saveTask(task);
+        }
+        try (ConfigurableApplicationContext second = start(args)) {
+            assertThat(second.getBean(TaskService.class).searchTasks("survives", null, 10).items()).hasSize(1);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String[] args) {
+        return new SpringApplicationBuilder(ProjectApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run(args);
+    }
+}
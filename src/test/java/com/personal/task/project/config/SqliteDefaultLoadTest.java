@@ -0,0 +1,9 @@
+package com.personal.task.project.config;
+
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:sqlite:target/load-default.db")
+class SqliteDefaultLoadTest extends SqliteMixedLoadBenchmark {
+}
@@ -0,0 +1,88 @@
+package com.personal.task.project.config;
+
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.service.TaskService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mixed read/write load against TaskService: 16 threads, 80% reads and 20%
+ * writes, for a fixed duration. Subclasses pick the SQLite profile.
+ */
+@SpringBootTest
+@Tag("benchmark")
+abstract class SqliteMixedLoadBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int SEED_TASKS = 1_000;
+    private static final long DURATION_MS = 10_000;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private Environment environment;
+
+    @Test
+    void mixedReadWriteThroughput() throws Exception {
+        List<Long> ids = new ArrayList<>(SEED_TASKS);
+        for (int i = 0; i < SEED_TASKS; i++) {
+            ids.add(taskService.saveTask(task("seed " + i)).getId());
+        }
+
+        AtomicLong reads = new AtomicLong();
+        AtomicLong writes = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.currentTimeMillis() + DURATION_MS;
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.currentTimeMillis() < deadline) {
+                    Long id = ids.get(random.nextInt(ids.size()));
+                    try {
+                        if (random.nextInt(100) < 80) {
+                            taskService.getTaskById(id);
+                            reads.incrementAndGet();
+                        } else if (random.nextBoolean()) {
+                            taskService.saveTask(task("load"));
+                            writes.incrementAndGet();
+                        } else {
+                            taskService.updateTask(id, task("updated"));
+                            writes.incrementAndGet();
+                        }
+                    } catch (RuntimeException e) {
+                        errors.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(DURATION_MS * 3, TimeUnit.MILLISECONDS)).isTrue();
+
+        double seconds = DURATION_MS / 1000.0;
+        System.out.printf("%nProfile %s: %.0f reads/s, %.0f writes/s, %d errors%n",
+                String.join(",", environment.getActiveProfiles()),
+                reads.get() / seconds, writes.get() / seconds, errors.get());
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+}
@@ -0,0 +1,9 @@
+package com.personal.task.project.config;
+
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+@ActiveProfiles({"test", "sqlite-perf"})
+@TestPropertySource(properties = "spring.datasource.url=jdbc:sqlite:target/load-tuned.db")
+class SqliteTunedLoadTest extends SqliteMixedLoadBenchmark {
+}
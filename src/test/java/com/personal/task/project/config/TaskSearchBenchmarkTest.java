@@ -0,0 +1,161 @@
+package com.personal.task.project.config;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Search latency at 1M tasks: the V5 FTS5 index against the LIKE scan it
+ * replaces, for a rare term, a common term and a short prefix. Both sides
+ * fetch one 50-row page. Run with -Pbenchmarks.
+ */
+@Tag("benchmark")
+class TaskSearchBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int ITERATIONS = 10;
+    private static final int VOCABULARY = 20_000;
+
+    private static final String FTS = "SELECT t.id FROM tasks_fts f JOIN tasks t ON t.id = f.rowid "
+            + "WHERE tasks_fts MATCH ? AND t.is_deleted = 0 ORDER BY bm25(tasks_fts, 4.0, 1.0), t.id LIMIT 50";
+    private static final String LIKE = "SELECT id FROM tasks WHERE is_deleted = 0 "
+            + "AND (title LIKE ? OR description LIKE ?) ORDER BY id LIMIT 50";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void ftsIndexBeatsLikeScan() throws Exception {
+        String[] words = vocabulary();
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + dir.resolve("search-bench.db"));
+
+        try (Connection connection = dataSource.getConnection()) {
+            createTables(connection);
+            seed(connection, words);
+
+            long start = System.nanoTime();
+            new SchemaMigrator(dataSource).migrate();
+            System.out.printf("%nFTS index built over %,d rows in %,d ms%n", ROWS, (System.nanoTime() - start) / 1_000_000);
+
+            // Words are drawn log-uniformly, so low indexes are common and high ones rare
+            Map<String, String> terms = new LinkedHashMap<>();
+            terms.put("rare term", words[VOCABULARY - 2]);
+            terms.put("common term", words[0]);
+            terms.put("prefix", words[1].substring(0, 3));
+
+            System.out.printf("%-12s %-10s %12s %12s%n", "query", "term", "like (ms)", "fts (ms)");
+            Map<String, double[]> results = new LinkedHashMap<>();
+            for (Map.Entry<String, String> term : terms.entrySet()) {
+                double like = measure(connection, LIKE, "%" + term.getValue() + "%", 2);
+                double fts = measure(connection, FTS, "\"" + term.getValue() + "\"*", 1);
+                results.put(term.getKey(), new double[] {like, fts});
+                System.out.printf("%-12s %-10s %12.3f %12.3f%n", term.getKey(), term.getValue(), like, fts);
+            }
+
+            double[] rare = results.get("rare term");
+            assertThat(rare[1]).isLessThan(rare[0]);
+        }
+    }
+
+    private double measure(Connection connection, String sql, String value, int parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= parameters; i++) {
+                statement.setString(i, value);
+            }
+            run(statement); // warm the page cache
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                run(statement);
+            }
+            return (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+        }
+    }
+
+    private void run(PreparedStatement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                rs.getLong(1);
+            }
+        }
+    }
+
+    // Pronounceable made-up words, so LIKE substrings rarely hit by accident
+    private static String[] vocabulary() {
+        String[] syllables = {"ka", "lo", "mi", "ne", "ru", "sa", "to", "vi", "zu", "pe", "da", "fo", "gi", "ho", "ju"};
+        Random random = new Random(42);
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int s = 0; s < 4; s++) {
+                word.append(syllables[random.nextInt(syllables.length)]);
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    private static String sentence(String[] words, Random random, int length) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            int index = (int) Math.pow(VOCABULARY, random.nextDouble()) - 1;
+            sentence.append(i == 0 ? "" : " ").append(words[index]);
+        }
+        return sentence.toString();
+    }
+
+    // Mirrors the tables Hibernate generates for Task and SyncOps
+    private void createTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE tasks (id integer PRIMARY KEY, client_id varchar(255) NOT NULL UNIQUE, "
+                    + "title varchar(255) NOT NULL, description varchar(1000), completed boolean NOT NULL, "
+                    + "created_at timestamp NOT NULL, updated_at timestamp NOT NULL, is_deleted boolean NOT NULL, "
+                    + "sync_status varchar(20) NOT NULL, server_id varchar(255), last_synced_at timestamp, change_seq bigint)");
+            statement.execute("CREATE TABLE sync_operations (id integer PRIMARY KEY, operation_type varchar(20) NOT NULL, "
+                    + "task_id bigint NOT NULL, task_data TEXT, status varchar(20) NOT NULL, "
+                    + "retry_count integer NOT NULL, created_at timestamp NOT NULL, payload_format integer, "
+                    + "task_version bigint, next_attempt_at timestamp, last_error varchar(500), "
+                    + "claimed_by varchar(64), lease_expires_at timestamp)");
+        }
+    }
+
+    private void seed(Connection connection, String[] words) throws SQLException {
+        Random random = new Random(7);
+        connection.setAutoCommit(false);
+        try (PreparedStatement task = connection.prepareStatement(
+                "INSERT INTO tasks (id, client_id, title, description, completed, created_at, updated_at, is_deleted, sync_status) "
+                        + "VALUES (?, ?, ?, ?, 0, ?, ?, ?, 'SYNCED')")) {
+            for (int i = 1; i <= ROWS; i++) {
+                long created = 1_700_000_000_000L + i;
+                task.setInt(1, i);
+                task.setString(2, "client-" + i);
+                task.setString(3, sentence(words, random, 4));
+                task.setString(4, sentence(words, random, 20));
+                task.setLong(5, created);
+                task.setLong(6, created);
+                task.setInt(7, i % 10 == 0 ? 1 : 0);
+                task.addBatch();
+
+                if (i % 10_000 == 0) {
+                    task.executeBatch();
+                }
+            }
+            task.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+}
@@ -0,0 +1,98 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.repository.SyncRepo;
+import com.personal.task.project.repository.TaskRepository;
+import com.personal.task.project.support.StubSyncServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkSyncIntegrationTest {
+
+    private static final StubSyncServer stub = startStub();
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SyncRepo syncRepo;
+
+    @DynamicPropertySource
+    static void syncProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:target/bulk-sync-test.db");
+        registry.add("app.sync.server-url", stub::baseUrl);
+        registry.add("app.sync.mode", () -> "bulk");
+        registry.add("app.sync.batch-size", () -> "100");
+        registry.add("app.sync.pull.enabled", () -> "false");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @BeforeEach
+    void clean() {
+        syncRepo.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void sendsWholeBatchInOneRequest() {
+        Task kept = taskService.saveTask(task("write report"));
+        Task edited = taskService.saveTask(task("buy milk"));
+        Task removed = taskService.saveTask(task("call bob"));
+        taskService.updateTask(edited.getId(), task("buy oat milk"));
+        taskService.deleteTask(removed.getId());
+
+        int before = stub.getRequestLog().size();
+        syncService.syncWithServer();
+
+        assertThat(stub.getRequestLog().subList(before, stub.getRequestLog().size()))
+                .containsExactly("POST /tasks/bulk");
+        assertThat(syncRepo.findByStatus(SyncOps.Status.PENDING)).isEmpty();
+        // CREATE+UPDATE folds into one CREATE, CREATE+DELETE is dropped before sending
+        assertThat(syncRepo.findByStatus(SyncOps.Status.SUCCESS)).hasSize(2);
+        assertThat(stub.getTasks()).hasSize(2);
+
+        Task syncedKept = taskRepository.findById(kept.getId()).orElseThrow();
+        Task syncedEdited = taskRepository.findById(edited.getId()).orElseThrow();
+        assertThat(syncedKept.getServerId()).isNotNull();
+        assertThat(syncedKept.getLastSyncedAt()).isNotNull();
+        assertThat(stub.getTasks().get(syncedEdited.getServerId()).get("title").asText()).isEqualTo("buy oat milk");
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+
+    private static StubSyncServer startStub() {
+        try {
+            return StubSyncServer.start(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
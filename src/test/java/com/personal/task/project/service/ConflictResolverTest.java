@@ -0,0 +1,77 @@
+package com.personal.task.project.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConflictResolverTest {
+
+    private static final LocalDateTime EARLIER = LocalDateTime.of(2024, 1, 1, 10, 0);
+    private static final LocalDateTime LATER = EARLIER.plusMinutes(5);
+
+    private final List<ConflictStrategy> strategies =
+            List.of(new LastWriterWinsStrategy(), new ServerWinsStrategy(), new ClientWinsStrategy());
+
+    @Test
+    void nonOverlappingEditsMergeWithoutConflicts() {
+        TaskSnapshot base = new TaskSnapshot("draft", null, false, false);
+        TaskSnapshot local = new TaskSnapshot("final", null, false, false);
+        TaskSnapshot remote = new TaskSnapshot("draft", "notes", true, false);
+
+        ConflictResolver.MergeResult result = resolver("server-wins").merge(1L, base, local, remote, LATER, EARLIER);
+
+        assertThat(result.merged()).isEqualTo(new TaskSnapshot("final", "notes", true, false));
+        assertThat(result.conflicts()).isEmpty();
+    }
+
+    @Test
+    void lastWriterWinsPicksTheLaterSide() {
+        TaskSnapshot base = new TaskSnapshot("draft", null, false, false);
+        TaskSnapshot local = new TaskSnapshot("mine", null, false, false);
+        TaskSnapshot remote = new TaskSnapshot("theirs", null, false, false);
+
+        assertThat(resolver("last-writer-wins").merge(1L, base, local, remote, LATER, EARLIER).merged().title())
+                .isEqualTo("mine");
+        ConflictResolver.MergeResult result = resolver("last-writer-wins").merge(1L, base, local, remote, EARLIER, LATER);
+        assertThat(result.merged().title()).isEqualTo("theirs");
+        assertThat(result.conflicts()).singleElement()
+                .satisfies(conflict -> assertThat(conflict.getField()).isEqualTo("title"));
+    }
+
+    @Test
+    void strategyDecidesOnlyConflictingFields() {
+        TaskSnapshot base = new TaskSnapshot("draft", "a", false, false);
+        TaskSnapshot local = new TaskSnapshot("mine", "b", false, false);
+        TaskSnapshot remote = new TaskSnapshot("theirs", "a", true, false);
+
+        TaskSnapshot serverWins = resolver("server-wins").merge(1L, base, local, remote, LATER, EARLIER).merged();
+        TaskSnapshot clientWins = resolver("client-wins").merge(1L, base, local, remote, LATER, EARLIER).merged();
+
+        assertThat(serverWins).isEqualTo(new TaskSnapshot("theirs", "b", true, false));
+        assertThat(clientWins).isEqualTo(new TaskSnapshot("mine", "b", true, false));
+    }
+
+    @Test
+    void withoutBaseEveryDifferenceIsAConflict() {
+        TaskSnapshot local = new TaskSnapshot("mine", null, false, false);
+        TaskSnapshot remote = new TaskSnapshot("theirs", null, true, false);
+
+        ConflictResolver.MergeResult result = resolver("client-wins").merge(1L, null, local, remote, LATER, EARLIER);
+
+        assertThat(result.merged()).isEqualTo(local);
+        assertThat(result.conflicts()).hasSize(2);
+    }
+
+    @Test
+    void unknownStrategyFailsFast() {
+        assertThatThrownBy(() -> resolver("coin-flip")).isInstanceOf(IllegalStateException.class);
+    }
+
+    private ConflictResolver resolver(String name) {
+        return new ConflictResolver(strategies, name);
+    }
+}
@@ -0,0 +1,139 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.repository.SyncRepo;
+import com.personal.task.project.repository.TaskRepository;
+import com.personal.task.project.support.StubSyncServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Several sync workers draining one outbox at once, bypassing the
+ * single-flight {@link SyncJobService} the way separate processes would.
+ * Every op must reach the stub server exactly once.
+ */
+@SpringBootTest
+@ActiveProfiles({"test", "sqlite-perf"})
+class MultiWorkerSyncTest {
+
+    private static final int TASKS = 200;
+    private static final int WORKERS = 4;
+
+    private static final StubSyncServer stub = startStub();
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SyncRepo syncRepo;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:target/multi-worker-sync-test.db");
+        registry.add("app.sync.server-url", stub::baseUrl);
+        registry.add("app.sync.pull.enabled", () -> "false");
+        // Small pages so the workers keep racing for the same rows
+        registry.add("app.sync.batch-size", () -> "10");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @BeforeEach
+    void clean() {
+        syncRepo.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentWorkersSendEveryOpExactlyOnce() throws Exception {
+        for (int i = 0; i < TASKS; i++) {
+            Task saved = taskService.saveTask(task("task " + i));
+            if (i % 3 == 0) {
+                taskService.updateTask(saved.getId(), task("task " + i + " edited"));
+            }
+        }
+        stub.setLatencyMillis(5);
+
+        ExecutorService workers = Executors.newFixedThreadPool(WORKERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> runs = new ArrayList<>();
+        try {
+            for (int w = 0; w < WORKERS; w++) {
+                runs.add(workers.submit(() -> {
+                    start.await();
+                    // A worker may find the rest leased by the others; it keeps going until the outbox is drained
+                    for (int attempt = 0; attempt < 50 && hasUnfinishedOps(); attempt++) {
+                        syncService.syncWithServer();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> run : runs) {
+                run.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            workers.shutdownNow();
+            stub.setLatencyMillis(0);
+        }
+
+        long creates = stub.getRequestLog().stream().filter(request -> request.startsWith("POST ")).count();
+        assertThat(creates).isEqualTo(TASKS);
+        assertThat(stub.getTasks()).hasSize(TASKS);
+        assertThat(syncRepo.findByStatus(SyncOps.Status.IN_FLIGHT)).isEmpty();
+        assertThat(syncRepo.findByStatus(SyncOps.Status.PENDING)).isEmpty();
+        assertThat(syncRepo.findByStatus(SyncOps.Status.FAILED)).isEmpty();
+        assertThat(taskRepository.findAll())
+                .allSatisfy(task -> assertThat(task.getSyncStatus()).isEqualTo(Task.SyncStatus.SYNCED));
+        // Edits queued behind a CREATE still went out after it
+        assertThat(stub.getTasks().values())
+                .filteredOn(remote -> remote.get("title").asText().equals("task 0 edited"))
+                .hasSize(1);
+    }
+
+    private boolean hasUnfinishedOps() {
+        return syncRepo.countByStatus(SyncOps.Status.PENDING) + syncRepo.countByStatus(SyncOps.Status.IN_FLIGHT) > 0;
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+
+    private static StubSyncServer startStub() {
+        try {
+            return StubSyncServer.start(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
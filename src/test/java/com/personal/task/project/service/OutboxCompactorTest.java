@@ -0,0 +1,86 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.repository.SyncRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class OutboxCompactorTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxCompactor compactor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        compactor = new OutboxCompactor(mock(SyncRepo.class), meterRegistry);
+    }
+
+    @Test
+    void createFollowedByUpdatesBecomesCreateWithLatestSnapshot() {
+        SyncOps create = op(1, 10, SyncOps.OperationType.CREATE, "v1");
+        SyncOps update1 = op(2, 10, SyncOps.OperationType.UPDATE, "v2");
+        SyncOps update2 = op(3, 10, SyncOps.OperationType.UPDATE, "v3");
+
+        List<SyncOps> survivors = compactor.compact(List.of(create, update1, update2));
+
+        assertThat(survivors).containsExactly(update2);
+        assertThat(update2.getOperationType()).isEqualTo(SyncOps.OperationType.CREATE);
+        assertThat(update2.getTaskData()).isEqualTo("v3");
+        assertThat(meterRegistry.counter("sync.outbox.eliminated").count()).isEqualTo(2);
+    }
+
+    @Test
+    void updatesFollowedByDeleteBecomeDelete() {
+        SyncOps update = op(1, 10, SyncOps.OperationType.UPDATE, "v1");
+        SyncOps delete = op(2, 10, SyncOps.OperationType.DELETE, "v2");
+
+        assertThat(compactor.compact(List.of(update, delete))).containsExactly(delete);
+        assertThat(delete.getOperationType()).isEqualTo(SyncOps.OperationType.DELETE);
+    }
+
+    @Test
+    void createThenDeleteProducesNothing() {
+        SyncOps create = op(1, 10, SyncOps.OperationType.CREATE, "v1");
+        SyncOps update = op(2, 10, SyncOps.OperationType.UPDATE, "v2");
+        SyncOps delete = op(3, 10, SyncOps.OperationType.DELETE, "v3");
+        SyncOps other = op(4, 11, SyncOps.OperationType.UPDATE, "w1");
+
+        assertThat(compactor.compact(List.of(create, update, delete, other))).containsExactly(other);
+        assertThat(meterRegistry.counter("sync.outbox.eliminated").count()).isEqualTo(3);
+        assertThat(meterRegistry.counter("sync.outbox.cancelled").count()).isEqualTo(1);
+    }
+
+    @Test
+    void updateBehindTheTaskVersionIsDropped() {
+        SyncOps stale = op(1, 10, SyncOps.OperationType.UPDATE, "v1");
+        stale.setTaskVersion(1L);
+        SyncOps current = op(2, 11, SyncOps.OperationType.UPDATE, "w2");
+        current.setTaskVersion(2L);
+
+        // Task 10 is already at version 3, so a newer op for it is queued behind this page
+        assertThat(compactor.compact(List.of(stale, current), Map.of(10L, 3L, 11L, 2L))).containsExactly(current);
+        assertThat(meterRegistry.counter("sync.outbox.eliminated").count()).isEqualTo(1);
+    }
+
+    private static SyncOps op(long id, long taskId, SyncOps.OperationType type, String data) {
+        SyncOps op = new SyncOps();
+        op.setTaskId(taskId);
+        op.setOperationType(type);
+        op.setTaskData(data);
+        ReflectionTestUtils.setField(op, "id", id);
+        ReflectionTestUtils.setField(op, "createdAt", BASE.plusSeconds(id));
+        return op;
+    }
+}
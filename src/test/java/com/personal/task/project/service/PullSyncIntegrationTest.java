@@ -0,0 +1,215 @@
+package com.personal.task.project.service;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.personal.task.project.entity.SyncConflict;
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.repository.SyncConflictRepository;
+import com.personal.task.project.repository.SyncCursorRepository;
+import com.personal.task.project.repository.SyncRepo;
+import com.personal.task.project.repository.TaskRepository;
+import com.personal.task.project.support.StubSyncServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PullSyncIntegrationTest {
+
+    private static final StubSyncServer stub = startStub();
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private ServerChangePuller puller;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SyncRepo syncRepo;
+
+    @Autowired
+    private SyncCursorRepository cursorRepository;
+
+    @Autowired
+    private SyncConflictRepository conflictRepository;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:target/pull-sync-test.db");
+        registry.add("app.sync.server-url", stub::baseUrl);
+        registry.add("app.sync.pull.page-size", () -> "2");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @BeforeEach
+    void clean() {
+        conflictRepository.deleteAll();
+        syncRepo.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void pullsServerChangesInPagesAndAdvancesTheMark() {
+        ObjectNode remote = stub.newTask("created elsewhere");
+        String serverId = stub.putTask(null, remote);
+        stub.putTask(null, stub.newTask("second"));
+        stub.putTask(null, stub.newTask("third"));
+
+        puller.pull();
+
+        Task pulled = taskRepository.findByServerIdIn(List.of(serverId)).get(0);
+        assertThat(pulled.getTitle()).isEqualTo("created elsewhere");
+        assertThat(pulled.getClientId()).isEqualTo(UUID.fromString(remote.get("clientId").asText()));
+        assertThat(pulled.getSyncStatus()).isEqualTo(Task.SyncStatus.SYNCED);
+        assertThat(syncRepo.count()).isZero(); // server-originated rows are not pushed back
+        assertThat(cursorRepository.findById(ServerChangePuller.CURSOR_NAME).orElseThrow().getPosition())
+                .isEqualTo(stub.getLatestChangeSeq());
+
+        // Nothing new on the server: the next pull applies nothing
+        assertThat(puller.pull()).isZero();
+
+        stub.removeTask(serverId);
+        puller.pull();
+        assertThat(taskRepository.findById(pulled.getId()).orElseThrow().isDeleted()).isTrue();
+    }
+
+    @Test
+    void serverEditsReachSyncedTasks() {
+        Task local = taskService.saveTask(task("draft"));
+        syncService.syncWithServer();
+        String serverId = taskRepository.findById(local.getId()).orElseThrow().getServerId();
+
+        ObjectNode edited = stub.getTasks().get(serverId).deepCopy();
+        edited.put("title", "edited on server");
+        stub.putTask(serverId, edited);
+
+        syncService.syncWithServer();
+
+        Task converged = taskRepository.findById(local.getId()).orElseThrow();
+        assertThat(converged.getTitle()).isEqualTo("edited on server");
+        assertThat(converged.getSyncStatus()).isEqualTo(Task.SyncStatus.SYNCED);
+    }
+
+    @Test
+    void theEchoOfOurOwnPushLeavesTheVersionAlone() {
+        Task local = taskService.saveTask(task("draft"));
+
+        syncService.syncWithServer();
+        // The server's record of that same push
+        assertThat(puller.pull()).isZero();
+
+        Task echoed = taskRepository.findById(local.getId()).orElseThrow();
+        assertThat(echoed.getVersion()).isZero();
+        assertThat(echoed.getSyncStatus()).isEqualTo(Task.SyncStatus.SYNCED);
+        assertThat(taskService.updateTask(local.getId(), task("edited"), 0L).getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void pendingLocalWritesAreMergedFieldByField() {
+        Task local = taskService.saveTask(task("draft"));
+        syncService.syncWithServer();
+        String serverId = taskRepository.findById(local.getId()).orElseThrow().getServerId();
+
+        taskService.updateTask(local.getId(), task("edited locally"));
+        ObjectNode edited = stub.getTasks().get(serverId).deepCopy();
+        edited.put("description", "added on server");
+        stub.putTask(serverId, edited);
+
+        puller.pull();
+
+        Task merged = taskRepository.findById(local.getId()).orElseThrow();
+        assertThat(merged.getTitle()).isEqualTo("edited locally");
+        assertThat(merged.getDescription()).isEqualTo("added on server");
+        assertThat(merged.getSyncStatus()).isEqualTo(Task.SyncStatus.PENDING);
+        assertThat(conflictRepository.count()).isZero();
+
+        // The pending op now carries the merge, so pushing it keeps the server's edit
+        syncService.syncWithServer();
+        ObjectNode onServer = stub.getTasks().get(serverId);
+        assertThat(onServer.get("title").asText()).isEqualTo("edited locally");
+        assertThat(onServer.get("description").asText()).isEqualTo("added on server");
+        assertThat(syncRepo.findByStatus(SyncOps.Status.PENDING)).isEmpty();
+    }
+
+    @Test
+    void aServerDeleteTurnsThePendingEditIntoADelete() {
+        Task local = taskService.saveTask(task("draft"));
+        syncService.syncWithServer();
+        String serverId = taskRepository.findById(local.getId()).orElseThrow().getServerId();
+
+        taskService.updateTask(local.getId(), task("edited locally"));
+        stub.removeTask(serverId);
+
+        puller.pull();
+
+        assertThat(taskRepository.findById(local.getId()).orElseThrow().isDeleted()).isTrue();
+        assertThat(syncRepo.findByStatus(SyncOps.Status.PENDING))
+                .extracting(SyncOps::getOperationType)
+                .containsExactly(SyncOps.OperationType.DELETE);
+
+        syncService.syncWithServer();
+        assertThat(stub.getTasks()).doesNotContainKey(serverId);
+        assertThat(syncRepo.findByStatus(SyncOps.Status.PENDING)).isEmpty();
+    }
+
+    @Test
+    void conflictingEditsAreResolvedAndRecorded() {
+        Task local = taskService.saveTask(task("draft"));
+        syncService.syncWithServer();
+        String serverId = taskRepository.findById(local.getId()).orElseThrow().getServerId();
+
+        taskService.updateTask(local.getId(), task("local title"));
+        ObjectNode edited = stub.getTasks().get(serverId).deepCopy();
+        edited.put("title", "server title");
+        stub.putTask(serverId, edited);
+
+        puller.pull();
+
+        // last-writer-wins: the server edit came later
+        assertThat(taskRepository.findById(local.getId()).orElseThrow().getTitle()).isEqualTo("server title");
+        List<SyncConflict> conflicts = conflictRepository.findByTaskIdOrderByIdAsc(local.getId());
+        assertThat(conflicts).hasSize(1);
+        assertThat(conflicts.get(0).getField()).isEqualTo("title");
+        assertThat(conflicts.get(0).getBaseValue()).isEqualTo("draft");
+        assertThat(conflicts.get(0).getLocalValue()).isEqualTo("local title");
+        assertThat(conflicts.get(0).getResolvedValue()).isEqualTo("server title");
+        assertThat(syncService.getSyncStatus().conflicts()).isEqualTo(1);
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+
+    private static StubSyncServer startStub() {
+        try {
+            return StubSyncServer.start(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.repository.SyncRepo;
+import com.personal.task.project.repository.TaskRepository;
+import com.personal.task.project.support.StubSyncServer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the number of SQL statements each write and sync path issues, so a
+ * stray save() or findById() on the hot path shows up as a test failure.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StatementCountTest {
+
+    private static final StubSyncServer stub = startStub();
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SyncRepo syncRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:target/statement-count-test.db");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        registry.add("app.sync.server-url", stub::baseUrl);
+        registry.add("app.sync.pull.enabled", () -> "false");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @BeforeEach
+    void clean() {
+        syncRepo.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void taskWritesTouchEachRowOnce() {
+        // INSERT task, INSERT op; their ids are reserved on the raw connection, which Hibernate does not count
+        Task created = statementsAtMost(2, () -> taskService.saveTask(task("draft")));
+        // SELECT task, UPDATE task, INSERT op
+        statementsAtMost(3, () -> taskService.updateTask(created.getId(), task("final")));
+        statementsAtMost(3, () -> taskService.deleteTask(created.getId()));
+    }
+
+    @Test
+    void syncingOneOpTouchesEachRowOnce() {
+        Task created = taskService.saveTask(task("sync me"));
+
+        // UPDATE expired leases, SELECT page, UPDATE claim, SELECT tasks, UPDATE op, UPDATE task
+        statementsAtMost(6, () -> {
+            syncService.syncWithServer();
+            return null;
+        });
+
+        assertThat(syncRepo.findByStatus(SyncOps.Status.SUCCESS)).hasSize(1);
+        Task synced = taskRepository.findById(created.getId()).orElseThrow();
+        assertThat(synced.getSyncStatus()).isEqualTo(Task.SyncStatus.SYNCED);
+        assertThat(synced.getServerId()).isNotNull();
+    }
+
+    private <T> T statementsAtMost(long expected, Supplier<T> action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        T result = action.get();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(expected);
+        return result;
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+
+    private static StubSyncServer startStub() {
+        try {
+            return StubSyncServer.start(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.dto.ChangeFeedPage;
+import com.personal.task.project.dto.CompactionReport;
+import com.personal.task.project.dto.TaskChange;
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.repository.SyncRepo;
+import com.personal.task.project.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StorageCompactorTest {
+
+    @Autowired
+    private StorageCompactor compactor;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SyncRepo syncRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:target/storage-compactor-test.db");
+        // Tiny batches so a run spans several transactions
+        registry.add("app.compaction.batch-size", () -> "2");
+        registry.add("app.compaction.batch-pause", () -> "0ms");
+    }
+
+    @BeforeEach
+    void clean() {
+        syncRepo.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void syncedHistoryAndTombstonesArePurgedAfterTheirRetention() {
+        Task live = taskService.saveTask(task("live"));
+        markSynced(live.getId());
+        Task gone = taskService.saveTask(task("gone"));
+        taskService.deleteTask(gone.getId());
+        markSynced(gone.getId());
+        // Delete not pushed yet
+        Task unsynced = taskService.saveTask(task("unsynced"));
+        taskService.deleteTask(unsynced.getId());
+        // Delete dead-lettered
+        Task failed = taskService.saveTask(task("failed"));
+        taskService.deleteTask(failed.getId());
+        markSynced(failed.getId());
+        failLatestOp(failed.getId());
+
+        CompactionReport report = compactor.compact(LocalDateTime.now().plusDays(31));
+
+        assertThat(report.tombstones()).isEqualTo(1);
+        assertThat(report.syncOps()).isEqualTo(4); // every SUCCESS op
+        assertThat(report.fileBytes()).isPositive();
+        assertThat(taskRepository.existsById(gone.getId())).isFalse();
+        assertThat(taskRepository.findAllById(List.of(live.getId(), unsynced.getId(), failed.getId()))).hasSize(3);
+        assertThat(syncRepo.findAll()).extracting(SyncOps::getStatus)
+                .containsExactlyInAnyOrder(SyncOps.Status.PENDING, SyncOps.Status.PENDING, SyncOps.Status.FAILED);
+        assertThat(compactor.getLastReport()).contains(report);
+    }
+
+    @Test
+    void recentHistoryIsKept() {
+        Task gone = taskService.saveTask(task("gone"));
+        taskService.deleteTask(gone.getId());
+        markSynced(gone.getId());
+
+        CompactionReport report = compactor.compact(LocalDateTime.now());
+
+        assertThat(report.syncOps()).isZero();
+        assertThat(report.tombstones()).isZero();
+        assertThat(taskRepository.existsById(gone.getId())).isTrue();
+        assertThat(syncRepo.count()).isEqualTo(2);
+    }
+
+    @Test
+    void changeFeedCursorsOlderThanPurgedTombstonesExpire() {
+        taskService.saveTask(task("before"));
+        long since = taskService.getLatestChangeSeq();
+        Task gone = taskService.saveTask(task("gone"));
+        taskService.deleteTask(gone.getId());
+        markSynced(gone.getId());
+        Task kept = taskService.saveTask(task("kept"));
+
+        compactor.compact(LocalDateTime.now().plusDays(31));
+
+        assertThatThrownBy(() -> taskService.getChanges(since, Long.MAX_VALUE, 10))
+                .isInstanceOfSatisfying(ChangeFeedExpiredException.class,
+                        e -> assertThat(e.getPurgedThrough()).isGreaterThan(since));
+
+        // Starting over works, and so does any cursor at or past the horizon
+        ChangeFeedPage full = taskService.getChanges(0, Long.MAX_VALUE, 10);
+        assertThat(full.changes()).extracting(TaskChange::id).contains(kept.getId()).doesNotContain(gone.getId());
+        assertThat(taskService.getChanges(full.cursor(), Long.MAX_VALUE, 10).changes()).isEmpty();
+    }
+
+    // What a successful push leaves behind. Like SyncService it marks the task with a bulk update:
+    // Task's @PreUpdate would turn SYNCED back into PENDING on a managed entity
+    private void markSynced(Long taskId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            syncRepo.findByTaskIdOrderByCreatedAtAsc(taskId).forEach(op -> op.setStatus(SyncOps.Status.SUCCESS));
+            syncRepo.flush();
+            taskRepository.markSynced(taskId, null, LocalDateTime.now(), null,
+                    List.of(SyncOps.Status.PENDING, SyncOps.Status.IN_FLIGHT), Task.SyncStatus.SYNCED);
+        });
+        assertThat(taskRepository.findById(taskId).orElseThrow().getSyncStatus()).isEqualTo(Task.SyncStatus.SYNCED);
+    }
+
+    private void failLatestOp(Long taskId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<SyncOps> ops = syncRepo.findByTaskIdOrderByCreatedAtAsc(taskId);
+            ops.get(ops.size() - 1).setStatus(SyncOps.Status.FAILED);
+        });
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+}
@@ -0,0 +1,134 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.support.StubSyncServer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyncEngineTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void keepsPerTaskOrderWhileRunningTasksInParallel() {
+        List<SyncOps> ops = new ArrayList<>();
+        long id = 0;
+        for (int seq = 0; seq < 5; seq++) {
+            for (long taskId = 1; taskId <= 20; taskId++) {
+                ops.add(op(++id, taskId, seq == 0 ? SyncOps.OperationType.CREATE : SyncOps.OperationType.UPDATE));
+            }
+        }
+        Collections.shuffle(ops);
+
+        Map<Long, List<Long>> seen = new ConcurrentHashMap<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        List<SyncOutcome> outcomes = new SyncEngine(4).dispatch(ops, op -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            seen.computeIfAbsent(op.getTaskId(), k -> Collections.synchronizedList(new ArrayList<>())).add(op.getId());
+            inFlight.decrementAndGet();
+            return SyncOutcome.success(op, null);
+        });
+
+        assertThat(outcomes).hasSize(ops.size()).allMatch(SyncOutcome::isSuccess);
+        assertThat(peak.get()).isLessThanOrEqualTo(4).isGreaterThan(1);
+        seen.values().forEach(order -> assertThat(order).isSorted());
+    }
+
+    @Test
+    void skipsRestOfChainAfterFailure() {
+        SyncOps create = op(1, 7, SyncOps.OperationType.CREATE);
+        SyncOps update = op(2, 7, SyncOps.OperationType.UPDATE);
+        SyncOps delete = op(3, 7, SyncOps.OperationType.DELETE);
+        SyncOps other = op(4, 8, SyncOps.OperationType.CREATE);
+
+        List<SyncOutcome> outcomes = new SyncEngine(2).dispatch(List.of(create, update, delete, other),
+                op -> op.getId() == 2 ? SyncOutcome.failed(op) : SyncOutcome.success(op, null));
+
+        assertThat(resultOf(outcomes, create)).isEqualTo(SyncOutcome.Result.SUCCESS);
+        assertThat(resultOf(outcomes, update)).isEqualTo(SyncOutcome.Result.FAILED);
+        assertThat(resultOf(outcomes, delete)).isEqualTo(SyncOutcome.Result.SKIPPED);
+        assertThat(resultOf(outcomes, other)).isEqualTo(SyncOutcome.Result.SUCCESS);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void concurrentDispatchOutperformsSequentialAgainstStubServer() throws Exception {
+        int opCount = 400;
+        List<SyncOps> ops = new ArrayList<>();
+        for (long i = 1; i <= opCount; i++) {
+            ops.add(op(i, i, SyncOps.OperationType.CREATE));
+        }
+
+        try (StubSyncServer stub = StubSyncServer.start(20)) {
+            RestTemplate restTemplate = new RestTemplate();
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            String endpoint = stub.baseUrl() + "/tasks";
+
+            long sequential = timeDispatch(new SyncEngine(1), ops, op -> {
+                restTemplate.postForEntity(endpoint, new HttpEntity<>("{\"title\":\"t\"}", headers), String.class);
+                return SyncOutcome.success(op, null);
+            });
+            long concurrent = timeDispatch(new SyncEngine(32), ops, op -> {
+                restTemplate.postForEntity(endpoint, new HttpEntity<>("{\"title\":\"t\"}", headers), String.class);
+                return SyncOutcome.success(op, null);
+            });
+
+            System.out.printf("Sequential: %d ops in %d ms (%.0f ops/s)%n", opCount, sequential, opCount * 1000.0 / sequential);
+            System.out.printf("Concurrent (32 in flight): %d ops in %d ms (%.0f ops/s), server peak in-flight %d%n",
+                    opCount, concurrent, opCount * 1000.0 / concurrent, stub.getMaxInFlight());
+
+            assertThat(stub.getRequestCount()).isEqualTo(opCount * 2);
+            assertThat(concurrent * 4).isLessThan(sequential);
+        }
+    }
+
+    private static long timeDispatch(SyncEngine engine, List<SyncOps> ops,
+                                     Function<SyncOps, SyncOutcome> sender) {
+        long start = System.nanoTime();
+        List<SyncOutcome> outcomes = engine.dispatch(ops, sender);
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        assertThat(outcomes).allMatch(SyncOutcome::isSuccess);
+        return Math.max(elapsed, 1);
+    }
+
+    private static SyncOutcome.Result resultOf(List<SyncOutcome> outcomes, SyncOps op) {
+        return outcomes.stream()
+                .filter(outcome -> outcome.getSyncOp() == op)
+                .findFirst()
+                .orElseThrow()
+                .getResult();
+    }
+
+    private static SyncOps op(long id, long taskId, SyncOps.OperationType type) {
+        SyncOps op = new SyncOps();
+        op.setTaskId(taskId);
+        op.setOperationType(type);
+        ReflectionTestUtils.setField(op, "id", id);
+        ReflectionTestUtils.setField(op, "createdAt", BASE.plusNanos(id * 1000));
+        return op;
+    }
+}
@@ -0,0 +1,130 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.repository.SyncRepo;
+import com.personal.task.project.repository.TaskRepository;
+import com.personal.task.project.support.StubSyncServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SyncJobIntegrationTest {
+
+    private static final StubSyncServer stub = startStub();
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private SyncJobService syncJobService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SyncRepo syncRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:target/sync-job-test.db");
+        registry.add("app.sync.server-url", stub::baseUrl);
+        registry.add("app.sync.pull.enabled", () -> "false");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @BeforeEach
+    void clean() {
+        stub.reset();
+        stub.setLatencyMillis(0);
+        syncRepo.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentTriggersJoinTheRunInFlight() throws Exception {
+        taskService.saveTask(task("once"));
+        stub.setLatencyMillis(300);
+
+        SyncJob first = syncJobService.submit("manual");
+        SyncJob second = syncJobService.submit("manual");
+
+        assertThat(second.getId()).isEqualTo(first.getId());
+        first.getCompletion().get(10, TimeUnit.SECONDS);
+
+        SyncJob done = syncJobService.getJob(first.getId()).orElseThrow();
+        assertThat(done.getState()).isEqualTo(SyncJob.State.SUCCEEDED);
+        assertThat(done.getProcessed()).isEqualTo(1);
+        assertThat(done.getFinishedAt()).isNotNull();
+        assertThat(stub.getTasks()).hasSize(1); // the CREATE went out once
+    }
+
+    @Test
+    void opsLeasedByAnotherWorkerAreLeftAloneUntilTheLeaseExpires() {
+        Task task = taskService.saveTask(task("held elsewhere"));
+        SyncOps op = syncRepo.findByStatus(SyncOps.Status.PENDING).get(0);
+        LocalDateTime until = LocalDateTime.now().plusHours(1);
+        transactionTemplate.executeWithoutResult(status -> syncRepo.claim(List.of(op.getId()), "other-worker", until,
+                SyncOps.Status.PENDING, SyncOps.Status.IN_FLIGHT));
+        // A later write to the same task must wait for the leased op
+        taskService.updateTask(task.getId(), task("edited meanwhile"));
+        int requests = stub.getRequestCount();
+
+        syncService.syncWithServer();
+
+        assertThat(stub.getRequestCount()).isEqualTo(requests);
+        assertThat(syncRepo.findById(op.getId()).orElseThrow().getStatus()).isEqualTo(SyncOps.Status.IN_FLIGHT);
+        assertThat(syncService.getSyncStatus().inFlight()).isEqualTo(1);
+
+        // The other worker's late result is fenced off once its lease has been recovered
+        assertThat(syncService.recoverExpiredLeases(until.plusSeconds(1))).isEqualTo(1);
+        int late = transactionTemplate.execute(status ->
+                syncRepo.complete(List.of(op.getId()), "other-worker", SyncOps.Status.SUCCESS));
+        assertThat(late).isZero();
+
+        syncService.syncWithServer();
+        assertThat(taskRepository.findById(task.getId()).orElseThrow().getSyncStatus()).isEqualTo(Task.SyncStatus.SYNCED);
+        assertThat(stub.getTasks().values()).singleElement()
+                .satisfies(remote -> assertThat(remote.get("title").asText()).isEqualTo("edited meanwhile"));
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+
+    private static StubSyncServer startStub() {
+        try {
+            return StubSyncServer.start(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
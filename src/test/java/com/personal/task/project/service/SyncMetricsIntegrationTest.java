@@ -0,0 +1,104 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.dto.SyncStatus;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.repository.SyncRepo;
+import com.personal.task.project.repository.TaskRepository;
+import com.personal.task.project.support.StubSyncServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SyncMetricsIntegrationTest {
+
+    private static final StubSyncServer stub = startStub();
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SyncRepo syncRepo;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:target/sync-metrics-test.db");
+        registry.add("app.sync.server-url", stub::baseUrl);
+        registry.add("app.sync.pull.enabled", () -> "false");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @BeforeEach
+    void clean() {
+        syncRepo.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void statusAndMetersTrackTheBacklog() {
+        taskService.saveTask(task("one"));
+        taskService.saveTask(task("two"));
+
+        SyncStatus before = syncService.getSyncStatus();
+        assertThat(before.pending()).isEqualTo(2);
+        assertThat(before.oldestPendingAt()).isNotNull();
+        assertThat(depth("PENDING")).isEqualTo(2);
+
+        syncService.syncWithServer();
+
+        SyncStatus after = syncService.getSyncStatus();
+        assertThat(after.pending()).isZero();
+        assertThat(after.succeeded()).isEqualTo(2);
+        assertThat(after.oldestPendingAt()).isNull();
+        assertThat(after.lastRunAt()).isNotNull();
+        assertThat(depth("PENDING")).isZero();
+
+        assertThat(meterRegistry.get("sync.op.latency").tag("type", "CREATE").tag("result", "SUCCESS")
+                .timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("sync.batch.duration").timer().count()).isPositive();
+        assertThat(meterRegistry.get("http.client.requests").timers()).isNotEmpty();
+    }
+
+    private double depth(String status) {
+        return meterRegistry.get("sync.outbox.depth").tag("status", status).gauge().value();
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+
+    private static StubSyncServer startStub() {
+        try {
+            return StubSyncServer.start(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.repository.SyncRepo;
+import com.personal.task.project.repository.TaskRepository;
+import com.personal.task.project.support.StubSyncServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SyncRetryIntegrationTest {
+
+    private static final StubSyncServer stub = startStub();
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SyncRepo syncRepo;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:target/sync-retry-test.db");
+        registry.add("app.sync.server-url", stub::baseUrl);
+        registry.add("app.sync.pull.enabled", () -> "false");
+        // The cap must sit above the base delay or it decides the backoff
+        registry.add("app.sync.retry.base-delay", () -> "1h");
+        registry.add("app.sync.retry.max-delay", () -> "2h");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @BeforeEach
+    void clean() {
+        stub.failWrites(0, 0);
+        syncRepo.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void transientFailuresBackOffAndHoldBackTheTasksLaterOps() {
+        Task task = taskService.saveTask(task("draft"));
+        stub.failWrites(503, 1);
+
+        syncService.syncWithServer();
+
+        SyncOps create = syncRepo.findByStatus(SyncOps.Status.PENDING).get(0);
+        assertThat(create.getRetryCount()).isEqualTo(1);
+        assertThat(create.getNextAttemptAt()).isAfter(LocalDateTime.now().plusMinutes(29));
+
+        // Neither the CREATE nor an UPDATE queued behind it is due yet
+        taskService.updateTask(task.getId(), task("edited"));
+        int requests = stub.getRequestCount();
+        syncService.syncWithServer();
+        assertThat(stub.getRequestCount()).isEqualTo(requests);
+        assertThat(syncRepo.findByStatus(SyncOps.Status.PENDING)).hasSize(2);
+    }
+
+    @Test
+    void permanentFailuresAreDeadLetteredAndCanBeRequeued() {
+        Task task = taskService.saveTask(task("rejected"));
+        stub.failWrites(400, 1);
+
+        syncService.syncWithServer();
+
+        List<SyncOps> deadLetters = syncService.getDeadLetters(10);
+        assertThat(deadLetters).hasSize(1);
+        assertThat(deadLetters.get(0).getRetryCount()).isEqualTo(1);
+        assertThat(deadLetters.get(0).getLastError()).contains("400");
+        assertThat(taskRepository.findById(task.getId()).orElseThrow().getSyncStatus()).isEqualTo(Task.SyncStatus.ERROR);
+
+        assertThat(syncService.requeueDeadLetters(null)).isEqualTo(1);
+        assertThat(syncService.getDeadLetters(10)).isEmpty();
+
+        syncService.syncWithServer();
+
+        assertThat(syncRepo.findByStatus(SyncOps.Status.SUCCESS)).hasSize(1);
+        assertThat(taskRepository.findById(task.getId()).orElseThrow().getSyncStatus()).isEqualTo(Task.SyncStatus.SYNCED);
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+
+    private static StubSyncServer startStub() {
+        try {
+            return StubSyncServer.start(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
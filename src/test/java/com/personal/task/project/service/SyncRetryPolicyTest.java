@@ -0,0 +1,34 @@
+package com.personal.task.project.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyncRetryPolicyTest {
+
+    private final SyncRetryPolicy policy = new SyncRetryPolicy(Duration.ofSeconds(1), Duration.ofSeconds(60));
+
+    @Test
+    void backoffDoublesWithJitterAndIsCapped() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(policy.backoff(1)).isBetween(Duration.ofMillis(500), Duration.ofSeconds(1));
+            assertThat(policy.backoff(3)).isBetween(Duration.ofSeconds(2), Duration.ofSeconds(4));
+            assertThat(policy.backoff(40)).isBetween(Duration.ofSeconds(30), Duration.ofSeconds(60));
+        }
+    }
+
+    @Test
+    void onlyTransientErrorsAreRetried() {
+        assertThat(SyncRetryPolicy.isRetryable(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "", null, null, null))).isTrue();
+        assertThat(SyncRetryPolicy.isRetryable(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "", null, null, null))).isTrue();
+        assertThat(SyncRetryPolicy.isRetryable(new ResourceAccessException("Read timed out"))).isTrue();
+        assertThat(SyncRetryPolicy.isRetryable(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "", null, null, null))).isFalse();
+        assertThat(SyncRetryPolicy.isRetryable(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "", null, null, null))).isFalse();
+    }
+}
@@ -0,0 +1,120 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.dto.TaskBatchOp;
+import com.personal.task.project.dto.TaskBatchResult;
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.repository.SyncRepo;
+import com.personal.task.project.repository.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskBatchIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SyncRepo syncRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:target/task-batch-test.db");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @BeforeEach
+    void clean() {
+        syncRepo.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void mixedBatchReportsEachOpInOrder() {
+        Task kept = taskService.saveTask(task("kept"));
+        Task removed = taskService.saveTask(task("removed"));
+
+        List<TaskBatchResult> results = taskService.applyBatch(List.of(
+                new TaskBatchOp(TaskBatchOp.Type.CREATE, null, null, task("new")),
+                new TaskBatchOp(TaskBatchOp.Type.UPDATE, kept.getId(), kept.getVersion(), task("kept v2")),
+                new TaskBatchOp(TaskBatchOp.Type.DELETE, removed.getId(), null, null),
+                new TaskBatchOp(TaskBatchOp.Type.UPDATE, kept.getId(), 99L, task("stale")),
+                new TaskBatchOp(TaskBatchOp.Type.DELETE, -1L, null, null),
+                new TaskBatchOp(TaskBatchOp.Type.CREATE, null, null, task(" "))));
+
+        assertThat(results).extracting(TaskBatchResult::index).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(results).extracting(TaskBatchResult::status).containsExactly(201, 200, 204, 412, 404, 400);
+
+        Long createdId = results.get(0).id();
+        assertThat(taskRepository.findById(createdId).orElseThrow().getTitle()).isEqualTo("new");
+        Task updated = taskRepository.findById(kept.getId()).orElseThrow();
+        assertThat(updated.getTitle()).isEqualTo("kept v2");
+        assertThat(results.get(1).version()).isEqualTo(updated.getVersion());
+        assertThat(taskRepository.findById(removed.getId()).orElseThrow().isDeleted()).isTrue();
+
+        // The two saves plus one outbox op per applied item
+        List<SyncOps> ops = syncRepo.findByStatus(SyncOps.Status.PENDING);
+        assertThat(ops).hasSize(5);
+        assertThat(ops).filteredOn(op -> op.getTaskId().equals(kept.getId()))
+                .extracting(SyncOps::getTaskVersion).contains(updated.getVersion());
+    }
+
+    @Test
+    void largeBatchIsWrittenWithJdbcBatches() {
+        List<TaskBatchOp> ops = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ops.add(new TaskBatchOp(TaskBatchOp.Type.CREATE, null, null, task("task " + i)));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<TaskBatchResult> results = taskService.applyBatch(ops);
+
+        assertThat(results).allSatisfy(result -> assertThat(result.status()).isEqualTo(201));
+        assertThat(results).extracting(TaskBatchResult::id).doesNotHaveDuplicates();
+        assertThat(taskRepository.count()).isEqualTo(500);
+        assertThat(syncRepo.count()).isEqualTo(500);
+        // 1000 rows in batches of 50: a few dozen statements rather than one per row
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(100);
+    }
+
+    @Test
+    void idsStayUniqueAcrossSingleAndBatchWrites() {
+        Task single = taskService.saveTask(task("single"));
+        List<TaskBatchResult> results = taskService.applyBatch(List.of(
+                new TaskBatchOp(TaskBatchOp.Type.CREATE, null, null, task("a")),
+                new TaskBatchOp(TaskBatchOp.Type.CREATE, null, null, task("b"))));
+        Task after = taskService.saveTask(task("after"));
+
+        assertThat(List.of(single.getId(), results.get(0).id(), results.get(1).id(), after.getId()))
+                .doesNotHaveDuplicates();
+        assertThat(taskRepository.count()).isEqualTo(4);
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+}
@@ -0,0 +1,118 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.repository.SyncRepo;
+import com.personal.task.project.repository.TaskRepository;
+import com.personal.task.project.support.StubSyncServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskCacheIntegrationTest {
+
+    private static final StubSyncServer stub = startStub();
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SyncRepo syncRepo;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:target/task-cache-test.db");
+        registry.add("app.sync.server-url", stub::baseUrl);
+        registry.add("app.sync.pull.enabled", () -> "false");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @BeforeEach
+    void clean() {
+        syncRepo.deleteAll();
+        taskRepository.deleteAll();
+        taskCache.evictAll();
+    }
+
+    @Test
+    void repeatedReadsAreServedFromTheCache() {
+        Task saved = taskService.saveTask(task("cached"));
+        double hits = hits();
+
+        taskService.getTaskById(saved.getId());
+        taskService.getTaskById(saved.getId());
+
+        assertThat(hits() - hits).isEqualTo(1);
+    }
+
+    @Test
+    void writesEvictTheTask() {
+        Task saved = taskService.saveTask(task("before"));
+        assertThat(taskService.getTaskById(saved.getId()).orElseThrow().getTitle()).isEqualTo("before");
+
+        taskService.updateTask(saved.getId(), task("after"));
+        assertThat(taskService.getTaskById(saved.getId()).orElseThrow().getTitle()).isEqualTo("after");
+
+        taskService.deleteTask(saved.getId());
+        assertThat(taskService.getTaskById(saved.getId())).isEmpty();
+    }
+
+    @Test
+    void syncOutcomesEvictTheTask() {
+        Task saved = taskService.saveTask(task("to sync"));
+        assertThat(taskService.getTaskById(saved.getId()).orElseThrow().getSyncStatus()).isEqualTo(Task.SyncStatus.PENDING);
+
+        syncService.syncWithServer();
+
+        Task synced = taskService.getTaskById(saved.getId()).orElseThrow();
+        assertThat(synced.getSyncStatus()).isEqualTo(Task.SyncStatus.SYNCED);
+        assertThat(synced.getServerId()).isNotNull();
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets").tag("cache", "tasks.byId").tag("result", "hit")
+                .functionCounter().count();
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+
+    private static StubSyncServer startStub() {
+        try {
+            return StubSyncServer.start(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.dto.ChangeFeedPage;
+import com.personal.task.project.dto.TaskChange;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.repository.SyncRepo;
+import com.personal.task.project.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskChangeFeedTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SyncRepo syncRepo;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:target/task-change-feed-test.db");
+    }
+
+    @BeforeEach
+    void clean() {
+        syncRepo.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void feedReturnsLatestChangePerTaskWithTombstones() {
+        long start = taskService.getLatestChangeSeq();
+        Task kept = taskService.saveTask(task("kept"));
+        Task removed = taskService.saveTask(task("removed"));
+        taskService.updateTask(kept.getId(), task("kept v2"));
+        taskService.deleteTask(removed.getId());
+
+        ChangeFeedPage page = taskService.getChanges(start, Long.MAX_VALUE, 10);
+
+        assertThat(page.hasMore()).isFalse();
+        assertThat(page.changes()).extracting(TaskChange::id).containsExactly(kept.getId(), removed.getId());
+        assertThat(page.changes().get(0).type()).isEqualTo(TaskChange.Type.UPSERT);
+        assertThat(page.changes().get(0).task().getTitle()).isEqualTo("kept v2");
+        assertThat(page.changes().get(1).type()).isEqualTo(TaskChange.Type.DELETE);
+        assertThat(page.changes().get(1).task()).isNull();
+
+        // Resuming from the returned cursor yields only what happened since
+        Task added = taskService.saveTask(task("later"));
+        ChangeFeedPage next = taskService.getChanges(page.cursor(), Long.MAX_VALUE, 10);
+        assertThat(next.changes()).extracting(TaskChange::id).containsExactly(added.getId());
+        assertThat(next.cursor()).isGreaterThan(page.cursor());
+
+        assertThat(taskService.getChanges(next.cursor(), Long.MAX_VALUE, 10).changes()).isEmpty();
+    }
+
+    @Test
+    void feedPagesByLimit() {
+        long start = taskService.getLatestChangeSeq();
+        for (int i = 0; i < 5; i++) {
+            taskService.saveTask(task("task " + i));
+        }
+
+        ChangeFeedPage first = taskService.getChanges(start, Long.MAX_VALUE, 3);
+        ChangeFeedPage second = taskService.getChanges(first.cursor(), Long.MAX_VALUE, 3);
+
+        assertThat(first.changes()).hasSize(3);
+        assertThat(first.hasMore()).isTrue();
+        assertThat(second.changes()).hasSize(2);
+        assertThat(second.hasMore()).isFalse();
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+}
@@ -0,0 +1,70 @@
+package com.personal.task.project.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.personal.task.project.entity.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskPayloadCodecTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final TaskPayloadCodec codec = new TaskPayloadCodec(mapper);
+
+    @Test
+    void roundTripsTheMergeableFields() {
+        Task task = task();
+        task.setDeleted(true);
+
+        assertThat(codec.decode(codec.encode(task))).isEqualTo(TaskSnapshot.of(task));
+    }
+
+    @Test
+    void payloadIsServerFacingJsonWithoutLocalBookkeeping() throws Exception {
+        ObjectNode json = (ObjectNode) mapper.readTree(codec.encode(task()));
+
+        assertThat(json.get("title").asText()).isEqualTo("write report");
+        assertThat(json.get("version").asLong()).isEqualTo(4L);
+        assertThat(json.has("syncStatus")).isFalse();
+        assertThat(json.has("serverId")).isFalse();
+        assertThat(json.has("lastSyncedAt")).isFalse();
+        assertThat(json.has("deleted")).isFalse(); // defaults are omitted
+    }
+
+    // Still the request body, so it only sheds what the server never reads: about 40% here
+    @Test
+    void isSmallerThanTheFullTaskDump() throws Exception {
+        Task task = task();
+        int compact = codec.encode(task).getBytes(StandardCharsets.UTF_8).length;
+        int dump = mapper.writeValueAsString(task).getBytes(StandardCharsets.UTF_8).length;
+
+        assertThat(compact).isLessThan(dump * 2 / 3);
+    }
+
+    @Test
+    void decodesLegacyFullTaskJson() throws Exception {
+        Task task = task();
+        String legacy = mapper.writeValueAsString(task);
+
+        assertThat(codec.decode(legacy)).isEqualTo(TaskSnapshot.of(task));
+    }
+
+    static Task task() {
+        Task task = new Task();
+        task.setTitle("write report");
+        task.setDescription("quarterly numbers");
+        task.setServerId("42");
+        task.setLastSyncedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        ReflectionTestUtils.setField(task, "id", 7L);
+        ReflectionTestUtils.setField(task, "version", 4L);
+        ReflectionTestUtils.setField(task, "createdAt", LocalDateTime.of(2024, 1, 1, 8, 0));
+        ReflectionTestUtils.setField(task, "updatedAt", LocalDateTime.of(2024, 1, 1, 9, 30));
+        return task;
+    }
+}
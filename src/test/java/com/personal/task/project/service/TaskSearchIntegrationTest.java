@@ -0,0 +1,116 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.dto.TaskPage;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.repository.SyncRepo;
+import com.personal.task.project.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskSearchIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SyncRepo syncRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:target/task-search-test.db");
+    }
+
+    @BeforeEach
+    void clean() {
+        syncRepo.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void termsMatchAsPrefixesAndTitleHitsRankFirst() {
+        Task inDescription = taskService.saveTask(task("Quarterly review", "prepare the design deck"));
+        Task inTitle = taskService.saveTask(task("Design review", "with the platform team"));
+        taskService.saveTask(task("Groceries", "milk, eggs"));
+
+        assertThat(search("desi")).extracting(Task::getId).containsExactly(inTitle.getId(), inDescription.getId());
+        assertThat(search("desi rev")).extracting(Task::getId).containsExactly(inTitle.getId(), inDescription.getId());
+        assertThat(search("design platform")).extracting(Task::getId).containsExactly(inTitle.getId());
+        assertThat(search("nothing")).isEmpty();
+    }
+
+    @Test
+    void indexFollowsUpdatesDeletesAndSyncSideWrites() {
+        Task task = taskService.saveTask(task("Renew passport", null));
+        taskService.updateTask(task.getId(), task("Renew driving licence", null));
+
+        assertThat(search("passport")).isEmpty();
+        assertThat(search("licence")).extracting(Task::getId).containsExactly(task.getId());
+
+        // The puller writes with JPQL updates, bypassing the entity
+        transactionTemplate.executeWithoutResult(status -> taskRepository.applyMerge(
+                task.getId(), "srv-1", "Renew driving licence", "book the eye test", false, false, null, 1));
+        assertThat(search("eye")).extracting(Task::getId).containsExactly(task.getId());
+
+        taskService.deleteTask(task.getId());
+        assertThat(search("licence")).isEmpty();
+    }
+
+    @Test
+    void pagesAreAddressedByOffset() {
+        for (int i = 0; i < 25; i++) {
+            taskService.saveTask(task("invoice " + i, null));
+        }
+
+        List<Task> seen = new ArrayList<>();
+        Long cursor = null;
+        int pages = 0;
+        do {
+            TaskPage<Task> page = taskService.searchTasks("invoice", cursor, 10);
+            seen.addAll(page.items());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(25).extracting(Task::getId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void searchSyntaxInInputIsTakenLiterally() {
+        Task task = taskService.saveTask(task("Fix \"login\" OR signup bug", null));
+
+        assertThat(search("\"login\" OR")).extracting(Task::getId).containsExactly(task.getId());
+        assertThat(search("sign OR -")).extracting(Task::getId).containsExactly(task.getId());
+        assertThat(TaskService.toMatchQuery("  - * ")).isEmpty();
+    }
+
+    private List<Task> search(String q) {
+        return taskService.searchTasks(q, null, null).items();
+    }
+
+    private static Task task(String title, String description) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(description);
+        return task;
+    }
+}
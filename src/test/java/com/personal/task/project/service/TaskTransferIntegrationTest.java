@@ -0,0 +1,134 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.dto.ImportResult;
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.repository.SyncRepo;
+import com.personal.task.project.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskTransferIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskTransferService transferService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SyncRepo syncRepo;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:target/task-transfer-test.db");
+        // Small commits so an import spans several transactions
+        registry.add("app.transfer.import.commit-rows", () -> "7");
+    }
+
+    @BeforeEach
+    void clean() {
+        syncRepo.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void exportThenImportRestoresTasksAndOutbox() throws IOException {
+        for (int i = 0; i < 60; i++) {
+            Task task = taskService.saveTask(task("task " + i));
+            if (i % 10 == 0) {
+                taskService.updateTask(task.getId(), task("task " + i + " v2"));
+            }
+        }
+        Task removed = taskService.saveTask(task("removed"));
+        taskService.deleteTask(removed.getId());
+
+        List<Task> before = sorted(taskRepository.findAll());
+        List<SyncOps> opsBefore = syncRepo.findAll();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long lines = transferService.export(out, true, true);
+        assertThat(lines).isEqualTo(before.size() + opsBefore.size());
+        assertThat(out.toString(StandardCharsets.UTF_8).lines()).hasSize((int) lines);
+
+        syncRepo.deleteAll();
+        taskRepository.deleteAll();
+        ImportResult result = transferService.importFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThat(result.tasks()).isEqualTo(before.size());
+        assertThat(result.syncOps()).isEqualTo(opsBefore.size());
+        assertThat(result.error()).isNull();
+        List<Task> after = sorted(taskRepository.findAll());
+        assertThat(after).extracting(Task::getId, Task::getClientId, Task::getTitle, Task::getVersion, Task::isDeleted)
+                .containsExactlyElementsOf(before.stream()
+                        .map(t -> tuple(t.getId(), t.getClientId(), t.getTitle(), t.getVersion(), t.isDeleted()))
+                        .toList());
+        assertThat(syncRepo.count()).isEqualTo(opsBefore.size());
+
+        // New writes get ids past everything imported
+        Task next = taskService.saveTask(task("after import"));
+        assertThat(next.getId()).isGreaterThan(after.get(after.size() - 1).getId());
+    }
+
+    @Test
+    void exportLeavesOutTombstonesAndOutboxByDefault() throws IOException {
+        taskService.saveTask(task("live"));
+        Task removed = taskService.saveTask(task("removed"));
+        taskService.deleteTask(removed.getId());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(transferService.export(out, false, false)).isEqualTo(1);
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("\"type\":\"task\"").contains("\"live\"");
+    }
+
+    @Test
+    void malformedInputStopsTheImportAfterTheCommittedRows() {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 1; i <= 10; i++) {
+            ndjson.append("{\"type\":\"task\",\"id\":").append(i)
+                    .append(",\"clientId\":\"00000000-0000-0000-0000-00000000000").append(i % 10)
+                    .append("\",\"title\":\"t").append(i)
+                    .append("\",\"createdAt\":\"2024-01-01T00:00:00\",\"syncStatus\":\"SYNCED\"}\n");
+        }
+        ndjson.append("{not json\n");
+
+        assertThatThrownBy(() -> transferService.importFrom(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOfSatisfying(TaskImportException.class, e -> {
+                    assertThat(e.isMalformedInput()).isTrue();
+                    assertThat(e.getResult().tasks()).isEqualTo(7); // the first commit
+                });
+        assertThat(taskRepository.count()).isEqualTo(7);
+    }
+
+    private static List<Task> sorted(List<Task> tasks) {
+        return tasks.stream().sorted(Comparator.comparing(Task::getId)).toList();
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+}
@@ -0,0 +1,77 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.repository.SyncRepo;
+import com.personal.task.project.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskVersioningTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SyncRepo syncRepo;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:target/task-versioning-test.db");
+    }
+
+    @BeforeEach
+    void clean() {
+        syncRepo.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void everyWriteBumpsTheVersionAndTheOpRecordsIt() {
+        Task created = taskService.saveTask(task("v0"));
+        Task updated = taskService.updateTask(created.getId(), task("v1"), created.getVersion());
+
+        assertThat(created.getVersion()).isZero();
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        List<SyncOps> ops = syncRepo.findByTaskIdOrderByCreatedAtAsc(created.getId());
+        assertThat(ops).extracting(SyncOps::getTaskVersion).containsExactly(0L, 1L);
+    }
+
+    @Test
+    void staleIfMatchIsRejected() {
+        Task created = taskService.saveTask(task("v0"));
+        taskService.updateTask(created.getId(), task("v1"));
+
+        assertThatThrownBy(() -> taskService.updateTask(created.getId(), task("lost update"), 0L))
+                .isInstanceOf(TaskVersionMismatchException.class)
+                .satisfies(e -> assertThat(((TaskVersionMismatchException) e).getCurrentVersion()).isEqualTo(1L));
+        assertThatThrownBy(() -> taskService.deleteTask(created.getId(), 0L))
+                .isInstanceOf(TaskVersionMismatchException.class);
+
+        Task current = taskRepository.findById(created.getId()).orElseThrow();
+        assertThat(current.getTitle()).isEqualTo("v1");
+        assertThat(current.isDeleted()).isFalse();
+        assertThat(syncRepo.findByTaskIdOrderByCreatedAtAsc(created.getId())).hasSize(2);
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+}
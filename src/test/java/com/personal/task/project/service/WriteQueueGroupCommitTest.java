@@ -0,0 +1,167 @@
+package com.personal.task.project.service;
+
+import com.personal.task.project.entity.SyncOps;
+import com.personal.task.project.entity.Task;
+import com.personal.task.project.repository.SyncRepo;
+import com.personal.task.project.repository.TaskRepository;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Writes that land in one group commit: a write that fails must only fail
+ * its own caller, and the others must commit exactly as if they ran alone.
+ */
+@SpringBootTest
+@ActiveProfiles({"test", "sqlite-perf"})
+class WriteQueueGroupCommitTest {
+
+    private static final int SAVES = 8;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private WriteQueue writeQueue;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SyncRepo syncRepo;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:target/write-queue-group-commit-test.db");
+        registry.add("app.sync.pull.enabled", () -> "false");
+        // Long enough for every concurrent write below to join one group
+        registry.add("app.sqlite.write-queue.linger-ms", () -> "300");
+    }
+
+    @BeforeEach
+    void clean() {
+        syncRepo.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void aRejectedWriteDoesNotDisturbTheRestOfItsGroup() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Task>> saves = new ArrayList<>();
+        Future<Task> rejected;
+        try (ExecutorService callers = Executors.newFixedThreadPool(SAVES + 1)) {
+            for (int i = 0; i < SAVES; i++) {
+                Task task = task("grouped " + i);
+                saves.add(callers.submit(() -> {
+                    start.await();
+                    return taskService.saveTask(task);
+                }));
+            }
+            // Writes a row before it gives up; the row must go with it
+            rejected = callers.submit(() -> {
+                start.await();
+                return writeQueue.submit(() -> {
+                    taskRepository.save(task("rolled back"));
+                    throw new IllegalStateException("rejected");
+                });
+            });
+            start.countDown();
+        }
+
+        assertThatThrownBy(rejected::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertSavedOnce(saves);
+        assertThat(taskRepository.count()).isEqualTo(SAVES);
+    }
+
+    @Test
+    void aStaleUpdateOnlyFailsItsOwnCaller() throws Exception {
+        Task existing = taskService.saveTask(task("existing"));
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Task>> saves = new ArrayList<>();
+        Future<Task> staleUpdate;
+        try (ExecutorService callers = Executors.newFixedThreadPool(SAVES + 1)) {
+            for (int i = 0; i < SAVES; i++) {
+                Task task = task("grouped " + i);
+                saves.add(callers.submit(() -> {
+                    start.await();
+                    return taskService.saveTask(task);
+                }));
+            }
+            staleUpdate = callers.submit(() -> {
+                start.await();
+                return taskService.updateTask(existing.getId(), task("lost update"), 99L);
+            });
+            start.countDown();
+        }
+
+        assertThatThrownBy(staleUpdate::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TaskVersionMismatchException.class);
+        assertSavedOnce(saves);
+        assertThat(taskRepository.count()).isEqualTo(SAVES + 1);
+        assertThat(taskRepository.findById(existing.getId()).orElseThrow().getTitle()).isEqualTo("existing");
+    }
+
+    @Test
+    void writesGroupedWithADatabaseErrorRunAgainInANewTransaction() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Task>> saves = new ArrayList<>();
+        Future<Task> invalid;
+        try (ExecutorService callers = Executors.newFixedThreadPool(SAVES + 1)) {
+            for (int i = 0; i < SAVES; i++) {
+                Task task = task("grouped " + i);
+                saves.add(callers.submit(() -> {
+                    start.await();
+                    return taskService.saveTask(task);
+                }));
+            }
+            // Fails bean validation on flush, which leaves the group's transaction rollback-only
+            invalid = callers.submit(() -> {
+                start.await();
+                return taskService.saveTask(task(" "));
+            });
+            start.countDown();
+        }
+
+        assertThatThrownBy(invalid::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ConstraintViolationException.class);
+        assertSavedOnce(saves);
+        assertThat(taskRepository.count()).isEqualTo(SAVES);
+    }
+
+    private void assertSavedOnce(List<Future<Task>> saves) throws Exception {
+        for (Future<Task> save : saves) {
+            Task saved = save.get();
+            assertThat(saved.getVersion()).isZero();
+            assertThat(syncRepo.findByTaskIdOrderByCreatedAtAsc(saved.getId()))
+                    .extracting(SyncOps::getOperationType)
+                    .containsExactly(SyncOps.OperationType.CREATE);
+        }
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+}
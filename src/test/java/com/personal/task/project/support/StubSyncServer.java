@@ -0,0 +1,342 @@
+package com.personal.task.project.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the remote task server, used by the sync tests.
+ * Every request is delayed by a configurable latency so dispatch strategies
+ * can be compared without a real network. It also serves a change feed at
+ * {@code GET /tasks/changes} so pull-side sync can be exercised, and can be
+ * told to fail the next task writes with a given status.
+ */
+public class StubSyncServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, ObjectNode> tasks = new ConcurrentHashMap<>();
+    private final Map<String, String> idsByClientId = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final AtomicLong changeSeq = new AtomicLong();
+    private final Map<String, Change> changes = new ConcurrentHashMap<>();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final List<String> requestLog = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private volatile int failureStatus;
+    private volatile long latencyMillis;
+
+    private StubSyncServer(long latencyMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/api", this::handle);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public static StubSyncServer start(long latencyMillis) throws IOException {
+        StubSyncServer stub = new StubSyncServer(latencyMillis);
+        stub.server.start();
+        return stub;
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/api";
+    }
+
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * Forgets stored tasks, changes, the request log and pending failures.
+     * Ids and the change sequence keep counting, as a real server's would.
+     */
+    public void reset() {
+        tasks.clear();
+        idsByClientId.clear();
+        changes.clear();
+        requestLog.clear();
+        failuresLeft.set(0);
+    }
+
+    /** The next {@code count} POST/PUT/DELETE requests under /tasks answer {@code status}. */
+    public void failWrites(int status, int count) {
+        failureStatus = status;
+        failuresLeft.set(count);
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    public List<String> getRequestLog() {
+        synchronized (requestLog) {
+            return new ArrayList<>(requestLog);
+        }
+    }
+
+    public Map<String, ObjectNode> getTasks() {
+        return tasks;
+    }
+
+    public long getLatestChangeSeq() {
+        return changeSeq.get();
+    }
+
+    /** Simulates a write made on the server by another replica. */
+    public String putTask(String id, ObjectNode task) {
+        String taskId = id != null ? id : String.valueOf(ids.incrementAndGet());
+        task.put("id", Long.parseLong(taskId));
+        store(taskId, task);
+        return taskId;
+    }
+
+    public void removeTask(String id) {
+        remove(id);
+    }
+
+    public ObjectNode newTask(String title) {
+        return mapper.createObjectNode()
+                .put("clientId", UUID.randomUUID().toString())
+                .put("title", title)
+                .put("completed", false);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        requestCount.incrementAndGet();
+
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath().substring("/api".length());
+        requestLog.add(method + " " + path);
+
+        try {
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            route(exchange, method, path);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            send(exchange, 503, null);
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange, String method, String path) throws IOException {
+        if (path.equals("/health")) {
+            send(exchange, 200, "{\"status\":\"healthy\"}");
+            return;
+        }
+        if (path.startsWith("/tasks") && !method.equals("GET")
+                && failuresLeft.getAndUpdate(left -> Math.max(left - 1, 0)) > 0) {
+            send(exchange, failureStatus, null);
+            return;
+        }
+        if (path.equals("/tasks/bulk") && method.equals("POST")) {
+            send(exchange, 200, mapper.writeValueAsString(bulk(readBody(exchange))));
+            return;
+        }
+        if (path.equals("/tasks/changes") && method.equals("GET")) {
+            send(exchange, 200, mapper.writeValueAsString(changesSince(query(exchange))));
+            return;
+        }
+        if (path.equals("/tasks") && method.equals("POST")) {
+            ObjectNode task = readBody(exchange);
+            String id = String.valueOf(ids.incrementAndGet());
+            task.put("id", Long.parseLong(id));
+            store(id, task);
+            send(exchange, 201, mapper.writeValueAsString(task));
+            return;
+        }
+        if (path.startsWith("/tasks/")) {
+            String id = path.substring("/tasks/".length());
+            switch (method) {
+                case "GET" -> {
+                    ObjectNode task = tasks.get(id);
+                    send(exchange, task == null ? 404 : 200, task == null ? null : mapper.writeValueAsString(task));
+                }
+                case "PUT" -> {
+                    ObjectNode task = readBody(exchange);
+                    store(id, task);
+                    send(exchange, 200, mapper.writeValueAsString(task));
+                }
+                case "DELETE" -> {
+                    remove(id);
+                    send(exchange, 204, null);
+                }
+                default -> send(exchange, 405, null);
+            }
+            return;
+        }
+        send(exchange, 404, null);
+    }
+
+    private ObjectNode bulk(ObjectNode body) {
+        ObjectNode response = mapper.createObjectNode();
+        ArrayNode results = response.putArray("results");
+        Set<String> rejected = new HashSet<>();
+
+        for (JsonNode op : body.path("ops")) {
+            ObjectNode result = results.addObject();
+            result.put("opId", op.path("opId").asLong());
+
+            String clientId = op.path("clientId").asText(null);
+            String id = op.hasNonNull("serverId") ? op.get("serverId").asText() : idsByClientId.get(clientId);
+            if (clientId != null && rejected.contains(clientId)) {
+                result.put("accepted", false).put("error", "earlier op for task rejected");
+                continue;
+            }
+
+            switch (op.path("type").asText()) {
+                case "CREATE" -> {
+                    id = String.valueOf(ids.incrementAndGet());
+                    ObjectNode task = (ObjectNode) op.get("task");
+                    task.put("id", Long.parseLong(id));
+                    store(id, task);
+                    if (clientId != null) {
+                        idsByClientId.put(clientId, id);
+                    }
+                }
+                case "UPDATE" -> {
+                    if (id == null || !tasks.containsKey(id)) {
+                        rejected.add(clientId);
+                        result.put("accepted", false).put("error", "task not found");
+                        continue;
+                    }
+                    ObjectNode task = (ObjectNode) op.get("task");
+                    task.put("id", Long.parseLong(id));
+                    store(id, task);
+                }
+                case "DELETE" -> {
+                    if (id != null) {
+                        remove(id);
+                    }
+                }
+                default -> {
+                    result.put("accepted", false).put("error", "unknown op type");
+                    continue;
+                }
+            }
+
+            result.put("accepted", true)
+                    .put("serverId", id)
+                    .put("updatedAt", LocalDateTime.now().toString());
+        }
+        return response;
+    }
+
+    private void store(String id, ObjectNode task) {
+        tasks.put(id, task);
+        changes.put(id, new Change(changeSeq.incrementAndGet(), task, false, LocalDateTime.now()));
+    }
+
+    private void remove(String id) {
+        ObjectNode task = tasks.remove(id);
+        if (task != null) {
+            changes.put(id, new Change(changeSeq.incrementAndGet(), task, true, LocalDateTime.now()));
+        }
+    }
+
+    // Same shape as the app's own GET /api/tasks/changes
+    private ObjectNode changesSince(Map<String, String> query) {
+        long since = Long.parseLong(query.getOrDefault("since", "0"));
+        int limit = Integer.parseInt(query.getOrDefault("limit", "100"));
+
+        List<Map.Entry<String, Change>> newer = changes.entrySet().stream()
+                .filter(entry -> entry.getValue().seq() > since)
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().seq()))
+                .toList();
+
+        ObjectNode response = mapper.createObjectNode();
+        ArrayNode items = response.putArray("changes");
+        long cursor = since;
+        for (Map.Entry<String, Change> entry : newer.subList(0, Math.min(limit, newer.size()))) {
+            Change change = entry.getValue();
+            ObjectNode item = items.addObject()
+                    .put("seq", change.seq())
+                    .put("type", change.deleted() ? "DELETE" : "UPSERT")
+                    .put("id", Long.parseLong(entry.getKey()))
+                    .put("changedAt", change.at().toString());
+            if (change.task().hasNonNull("clientId")) {
+                item.put("clientId", change.task().get("clientId").asText());
+            }
+            if (!change.deleted()) {
+                item.set("task", change.task());
+            }
+            cursor = change.seq();
+        }
+        response.put("cursor", cursor);
+        response.put("hasMore", newer.size() > limit);
+        return response;
+    }
+
+    private Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw != null) {
+            for (String pair : raw.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    params.put(pair.substring(0, eq), pair.substring(eq + 1));
+                }
+            }
+        }
+        return params;
+    }
+
+    private record Change(long seq, ObjectNode task, boolean deleted, LocalDateTime at) {
+    }
+
+    private ObjectNode readBody(HttpExchange exchange) throws IOException {
+        return (ObjectNode) mapper.readTree(exchange.getRequestBody());
+    }
+
+    private void send(HttpExchange exchange, int status, String body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}